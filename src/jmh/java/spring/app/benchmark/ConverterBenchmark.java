@@ -0,0 +1,43 @@
+package spring.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.app.modules.commons.util.convert.SimpleEntityConverter;
+import spring.app.modules.smap.domain.SMap;
+import spring.app.modules.smap.dto.SMapDto;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"REFLECTIVE", "GENERATED"})
+    private SimpleEntityConverter.Mode mode;
+
+    private SMapDto dto;
+
+    @Setup
+    public void setUp() {
+        SimpleEntityConverter.setMode(mode);
+        dto = SMapDto.builder().zoom(12).type("SATELLITE").build();
+    }
+
+    @Benchmark
+    public SMap convertDtoToEntity() {
+        return SimpleEntityConverter.convert(dto, new SMap());
+    }
+}
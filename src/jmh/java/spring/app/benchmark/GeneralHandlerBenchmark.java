@@ -0,0 +1,130 @@
+package spring.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.app.modules.coach.domain.Coach;
+import spring.app.modules.coach.dto.CoachAllInfoDto;
+import spring.app.modules.coach.service.CoachGeneralHandler;
+import spring.app.modules.commons.domain.SportType;
+import spring.app.modules.event.domain.Event;
+import spring.app.modules.event.dto.EventAllInfoDto;
+import spring.app.modules.event.service.EventGeneralHandler;
+import spring.app.modules.forum.domain.Forum;
+import spring.app.modules.forum.dto.ForumAllInfoDto;
+import spring.app.modules.forum.service.ForumGeneralHandler;
+import spring.app.modules.news.domain.New;
+import spring.app.modules.news.dto.NewAllInfoDto;
+import spring.app.modules.news.service.NewGeneralHandler;
+import spring.app.modules.security.domain.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO list mapping for one page of results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneralHandlerBenchmark {
+
+    private final EventGeneralHandler eventHandler = new EventGeneralHandler() {
+    };
+    private final NewGeneralHandler newHandler = new NewGeneralHandler() {
+    };
+    private final ForumGeneralHandler forumHandler = new ForumGeneralHandler() {
+    };
+    private final CoachGeneralHandler coachHandler = new CoachGeneralHandler() {
+    };
+
+    @Param({"15", "1000"})
+    private int size;
+
+    private List<Event> events;
+    private List<New> news;
+    private List<Forum> forums;
+    private List<Coach> coaches;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setEmail("benchmark@sport-maps.com");
+        LocalDateTime now = LocalDateTime.now();
+        SportType[] sportTypes = SportType.values();
+        events = new ArrayList<>(size);
+        news = new ArrayList<>(size);
+        forums = new ArrayList<>(size);
+        coaches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Event event = new Event();
+            event.setIdEvent((long) i);
+            event.setName("Event " + i);
+            event.setEventDate(now.plusDays(i));
+            event.setDescription("Description " + i);
+            event.setSportType(sportTypes[i % sportTypes.length]);
+            event.setCreatedBy(user);
+            events.add(event);
+
+            New aNew = new New();
+            aNew.setIdNew((long) i);
+            aNew.setName("New " + i);
+            aNew.setPublishDate(now.minusDays(i));
+            aNew.setDescription("Description " + i);
+            aNew.setCreatedBy(user);
+            news.add(aNew);
+
+            Forum forum = new Forum();
+            forum.setIdForum((long) i);
+            forum.setName("Forum " + i);
+            forum.setCreateDate(now.minusHours(i));
+            forum.setDescription("Description " + i);
+            forum.setCreatedBy(user);
+            forums.add(forum);
+
+            Coach coach = new Coach();
+            coach.setIdCoach((long) i);
+            coach.setFirstName("First " + i);
+            coach.setLastName("Last " + i);
+            coach.setAge(30L);
+            coach.setExperience(5L);
+            coach.setPrice(25.0);
+            coach.setDescription("Description " + i);
+            coach.setSportType(sportTypes[i % sportTypes.length]);
+            coaches.add(coach);
+        }
+    }
+
+    @Benchmark
+    public List<EventAllInfoDto> events() {
+        return eventHandler.listToDto(events);
+    }
+
+    @Benchmark
+    public List<NewAllInfoDto> news() {
+        return newHandler.listToDto(news);
+    }
+
+    @Benchmark
+    public List<ForumAllInfoDto> forums() {
+        return forumHandler.listToDto(forums);
+    }
+
+    @Benchmark
+    public List<CoachAllInfoDto> coaches() {
+        return coachHandler.listToDto(coaches);
+    }
+}
@@ -0,0 +1,47 @@
+package spring.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import spring.app.modules.security.general.JwtProvider;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token work done by the JWT authentication filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtProvider = new JwtProvider();
+        Field expiration = JwtProvider.class.getDeclaredField("jwtExpirationInMillis");
+        expiration.setAccessible(true);
+        expiration.set(jwtProvider, TimeUnit.HOURS.toMillis(1));
+        jwtProvider.init();
+        token = jwtProvider.generateTokenWithUserEmail("benchmark@sport-maps.com");
+    }
+
+    @Benchmark
+    public String validateAndGetEmail() {
+        jwtProvider.validateToken(token);
+        return jwtProvider.getUserEmailFromJwt(token);
+    }
+}
@@ -1,8 +1,12 @@
 package spring.app.modules.coach.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +19,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.coach.dto.CoachAllInfoDto;
 import spring.app.modules.coach.dto.CoachCreateDto;
 import spring.app.modules.coach.service.CoachService;
+import spring.app.modules.commons.dto.ScrollDto;
 
 import java.io.IOException;
 import java.util.List;
@@ -40,6 +46,15 @@ public class CoachController {
         return coachService.getAllCoaches(page_num);
     }
 
+    /**
+     * Keyset page ordered by id. Pass the returned {@code nextCursor} to get the following page.
+     */
+    @GetMapping("/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    public ScrollDto<CoachAllInfoDto> scrollCoaches(@RequestParam(value = "cursor", required = false) String cursor) {
+        return coachService.scrollCoaches(cursor);
+    }
+
     @GetMapping("/byId/{id}")
     @ResponseStatus(HttpStatus.OK)
     public CoachAllInfoDto getCoachById(@PathVariable("id") Long id) {
@@ -67,6 +82,27 @@ public class CoachController {
         return ResponseEntity.ok(uploadImage);
     }
 
+    /**
+     * Takes the image as the raw request body, the target and limits are checked before it is read.
+     */
+    @PostMapping("/photo/stream/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<?> uploadImageStream(@PathVariable("id") Long id,
+                                               @RequestParam(value = "name", required = false) String name,
+                                               HttpServletRequest request) throws IOException {
+        String uploadImage = coachService.uploadImage(request.getInputStream(), request.getContentLengthLong(), name, id);
+        return ResponseEntity.ok(uploadImage);
+    }
+
+    @GetMapping("/photo/download/{id}")
+    public ResponseEntity<StreamingResponseBody> downloadImages(@PathVariable("id") Long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("coach-" + id + "-images.zip").build().toString())
+                .body(coachService.downloadImages(id));
+    }
+
     @GetMapping(value = "/count")
     @ResponseStatus(HttpStatus.OK)
     public double getTotalPagesCount() {
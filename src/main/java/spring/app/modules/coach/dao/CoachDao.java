@@ -11,9 +11,12 @@ import java.util.Optional;
 
 @Repository
 public interface CoachDao extends JpaRepository<Coach, Long> {
-    @Query(value = "SELECT * FROM public.coaches", nativeQuery = true)
+    @Query(value = "SELECT * FROM public.coaches ORDER BY id_coach", nativeQuery = true)
     List<Coach> getAllCoaches(Pageable pageable);
 
+    @Query("SELECT c FROM Coach c WHERE c.idCoach > ?1 ORDER BY c.idCoach")
+    List<Coach> scrollCoachesAfter(Long id, Pageable pageable);
+
     @Query(value = "SELECT * FROM public.coaches" +
             " WHERE id_coach = ?1", nativeQuery = true)
     Optional<Coach> getCoachById(Long id);
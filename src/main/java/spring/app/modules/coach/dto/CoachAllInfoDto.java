@@ -4,6 +4,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.jackson.Jacksonized;
+import spring.app.modules.commons.dto.ImageDto;
+
+import java.util.List;
 
 @Jacksonized
 @Getter
@@ -18,5 +21,6 @@ public class CoachAllInfoDto {
     private Double price;
     private String description;
     private String sportType;
-    private byte[] image;
+    private String imageUrl;
+    private List<ImageDto> images;
 }
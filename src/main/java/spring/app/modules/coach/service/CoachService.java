@@ -1,10 +1,13 @@
 package spring.app.modules.coach.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.coach.dto.CoachAllInfoDto;
 import spring.app.modules.coach.dto.CoachCreateDto;
+import spring.app.modules.commons.dto.ScrollDto;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface CoachService {
@@ -18,7 +21,13 @@ public interface CoachService {
 
     List<CoachAllInfoDto> getAllCoaches(int pageNumber);
 
+    ScrollDto<CoachAllInfoDto> scrollCoaches(String cursor);
+
     String uploadImage(MultipartFile file, Long id) throws IOException;
 
+    String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException;
+
+    StreamingResponseBody downloadImages(Long id);
+
     double getTotalPagesCount();
 }
@@ -3,25 +3,31 @@ package spring.app.modules.coach.service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.coach.domain.Coach;
 import spring.app.modules.commons.domain.ImageData;
+import spring.app.modules.commons.dto.ImageDto;
 import spring.app.modules.coach.dto.CoachAllInfoDto;
 import spring.app.modules.coach.dto.CoachCreateDto;
 import spring.app.modules.commons.domain.SportType;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.commons.exception.AlreadyExistException;
 import spring.app.modules.commons.exception.NotFoundException;
 import spring.app.modules.coach.dao.CoachDao;
 import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.service.DtoCache;
+import spring.app.modules.commons.service.EntityCounter;
+import spring.app.modules.commons.service.ImageDataService;
+import spring.app.modules.commons.util.KeysetCursor;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -30,22 +36,20 @@ import java.util.regex.Pattern;
 @Service
 @Transactional
 public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
+    private static final String COUNTER = "coaches";
     private final int PAGE_ELEMENTS_AMOUNT = 15;
     private final ImageDataDao imageDataDao;
-    private final String FOLDER_PATH;
+    private final ImageDataService imageDataService;
     private final CoachDao coachDao;
+    private final EntityCounter entityCounter;
+    private final DtoCache dtoCache;
 
-    public CoachServiceImpl(ImageDataDao imageDataDao, CoachDao coachDao) throws URISyntaxException {
+    public CoachServiceImpl(ImageDataDao imageDataDao, ImageDataService imageDataService, CoachDao coachDao, EntityCounter entityCounter, DtoCache dtoCache) {
         this.coachDao = coachDao;
-        this.FOLDER_PATH = getFOLDER_PATH();
         this.imageDataDao = imageDataDao;
-    }
-
-    private String getFOLDER_PATH() throws URISyntaxException {
-        URL res = CoachServiceImpl.class.getClassLoader().getResource("images");
-        assert res != null;
-        File file = Paths.get(res.toURI()).toFile();
-        return file.getAbsolutePath();
+        this.imageDataService = imageDataService;
+        this.entityCounter = entityCounter;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -55,6 +59,7 @@ public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
         SportType sportType = getSportType(coachDto);
         Coach coach = convertToEntity(coachDto, sportType, new Coach());
         coachDao.save(coach);
+        entityCounter.incrementAfterCommit(COUNTER);
         return HttpStatus.CREATED.value();
     }
 
@@ -64,19 +69,22 @@ public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
         SportType sportType = getSportType(coachDto);
         Coach coach = convertToEntity(coachDto, sportType, new Coach());
         coachDao.save(updateContent(coach, getById(id)));
+        dtoCache.evictAfterCommit(DtoCache.COACHES, id);
         return HttpStatus.CREATED.value();
     }
 
     @Override
     public CoachAllInfoDto getCoachById(Long id) {
-        Coach byId = getById(id);
-        return allInfoDto(byId);
+        return dtoCache.get(DtoCache.COACHES, id, () -> allInfoDto(getById(id)));
     }
 
     @Override
     public void deleteById(Long id) {
         getById(id);
+        imageDataService.releaseAfterCommit(imageDataDao.findAllByCoachId(id));
         coachDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.COACHES, id);
+        entityCounter.decrementAfterCommit(COUNTER);
     }
 
     @Override
@@ -88,27 +96,46 @@ public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
         return listToDto(coaches);
     }
 
+    @Override
+    public ScrollDto<CoachAllInfoDto> scrollCoaches(String cursor) {
+        Long afterId = cursor == null ? 0L : KeysetCursor.decode(cursor).id();
+        List<Coach> coaches = coachDao.scrollCoachesAfter(afterId, PageRequest.of(0, PAGE_ELEMENTS_AMOUNT));
+        String nextCursor = coaches.size() == PAGE_ELEMENTS_AMOUNT
+                ? KeysetCursor.encode(coaches.get(coaches.size() - 1).getIdCoach()) : null;
+        return ScrollDto.<CoachAllInfoDto>builder()
+                .items(listToDto(coaches))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String uploadImage(MultipartFile file, Long id) throws IOException {
-        String filePath = FOLDER_PATH + "\\" + file.getOriginalFilename();
-        validatePresentImage(file.getOriginalFilename(), filePath);
-        Coach byId = getById(id);
+        try (InputStream content = file.getInputStream()) {
+            return uploadImage(content, file.getSize(), file.getOriginalFilename(), id);
+        }
+    }
 
-        imageDataDao.save(ImageData
-                .builder()
-                .name(file.getOriginalFilename())
-                .type(file.getContentType())
-                .filePath(filePath)
-                .coach(byId)
-                .build()
-        );
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException {
+        Coach byId = getById(id);
+        imageDataService.validateUpload(imageDataDao.countByCoachId(id), contentLength);
+        imageDataService.attachImage(content, name, ImageData.builder().coach(byId).build(),
+                hash -> imageDataDao.existsByHashAndCoachId(hash, id));
+        dtoCache.evictAfterCommit(DtoCache.COACHES, id);
+        return "Image uploaded successfully " + name;
+    }
 
-        file.transferTo(new File(filePath));
-        return "Image uploaded successfully " + file.getOriginalFilename();
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody downloadImages(Long id) {
+        getById(id);
+        return imageDataService.zipImages(imageDataDao.findAllByCoachId(id));
     }
 
     @Override
     public double getTotalPagesCount() {
-        long count = coachDao.getAllCoachCount();
+        long count = entityCounter.count(COUNTER, coachDao::getAllCoachCount);
         double pagesNum = (double) count / PAGE_ELEMENTS_AMOUNT;
         return Math.ceil(pagesNum);
     }
@@ -192,13 +219,6 @@ public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
         return SportType.valueOf(sportInString);
     }
 
-    private void validatePresentImage(String name, String filePath) {
-        Optional<ImageData> result = imageDataDao.findByNameAndFilePath(name, filePath);
-        if (result.isPresent()) {
-            throw new AlreadyExistException("Image already exists!");
-        }
-    }
-
     private Coach updateContent(Coach coach, Coach resultCoach) {
         resultCoach.setFirstName(coach.getFirstName());
         resultCoach.setLastName(coach.getLastName());
@@ -230,29 +250,23 @@ public class CoachServiceImpl implements CoachService, CoachGeneralHandler {
         return coach;
     }
 
-    private byte[] fetchImage(Long id) throws IOException {
-        List<ImageData> allByCoachId = imageDataDao.findAllByCoachId(id);
-        if (allByCoachId.isEmpty()) {
-            return null;
-        }
-        ImageData singleImage = allByCoachId.stream().findFirst().orElseThrow();
-        String imagePath = singleImage.getFilePath();
-        return Files.readAllBytes(new File(imagePath).toPath());
-    }
-
     @Override
     public List<CoachAllInfoDto> listToDto(List<Coach> coaches) {
-        return CoachGeneralHandler.super.listToDto(coaches);
+        Map<Long, List<ImageDto>> images = imageDataService.findImagesByOwners(
+                coaches.stream().map(Coach::getIdCoach).toList(), imageDataDao::findDescriptorsByCoachIds);
+        List<CoachAllInfoDto> result = new ArrayList<>(coaches.size());
+        for (Coach coach : coaches) {
+            CoachAllInfoDto coachAllInfoDto = CoachGeneralHandler.super.allInfoDto(coach);
+            List<ImageDto> coachImages = images.getOrDefault(coach.getIdCoach(), List.of());
+            coachAllInfoDto.setImages(coachImages);
+            coachAllInfoDto.setImageUrl(coachImages.isEmpty() ? null : coachImages.get(0).getUrl());
+            result.add(coachAllInfoDto);
+        }
+        return result;
     }
 
     @Override
     public CoachAllInfoDto allInfoDto(Coach coach) {
-        CoachAllInfoDto coachAllInfoDto = CoachGeneralHandler.super.allInfoDto(coach);
-        try {
-            coachAllInfoDto.setImage(fetchImage(coach.getIdCoach()));
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Error while reading from image path! " + coach.getIdCoach());
-        }
-        return coachAllInfoDto;
+        return listToDto(List.of(coach)).get(0);
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.comments.event.domain.EventComment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,8 @@ public interface EventCommentDao extends JpaRepository<EventComment, Long> {
     @Query(value = "SELECT * FROM public.event_comments" +
             " WHERE id_event = ?1", nativeQuery = true)
     List<EventComment> findAllByEventId(Long id);
+
+    @Query("SELECT c FROM EventComment c JOIN FETCH c.createdBy" +
+            " WHERE c.event.idEvent IN ?1 ORDER BY c.id")
+    List<EventComment> findAllByEventIds(Collection<Long> ids);
 }
@@ -8,6 +8,7 @@ import spring.app.modules.comments.event.domain.EventComment;
 import spring.app.modules.comments.event.dto.EventCommentCreateDto;
 import spring.app.modules.comments.event.dto.EventCommentDto;
 import spring.app.modules.commons.exception.NotFoundException;
+import spring.app.modules.commons.service.DtoCache;
 import spring.app.modules.event.dao.EventDao;
 import spring.app.modules.event.domain.Event;
 import spring.app.modules.security.dao.UserDao;
@@ -24,11 +25,13 @@ public class EventCommentServiceImpl implements EventCommentService, EventCommen
     private final EventCommentDao eventCommentDao;
     private final UserDao userDao;
     private final EventDao eventDao;
+    private final DtoCache dtoCache;
 
-    public EventCommentServiceImpl(EventCommentDao eventCommentDao, UserDao userDao, EventDao eventDao) {
+    public EventCommentServiceImpl(EventCommentDao eventCommentDao, UserDao userDao, EventDao eventDao, DtoCache dtoCache) {
         this.eventCommentDao = eventCommentDao;
         this.userDao = userDao;
         this.eventDao = eventDao;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -38,6 +41,7 @@ public class EventCommentServiceImpl implements EventCommentService, EventCommen
         Event event = getEvent(eventCommentCreateDto);
         EventComment comment = convertToEntity(eventCommentCreateDto, user, event, new EventComment());
         eventCommentDao.save(comment);
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, event.getIdEvent());
         return HttpStatus.CREATED.value();
     }
 
@@ -47,7 +51,9 @@ public class EventCommentServiceImpl implements EventCommentService, EventCommen
         User user = getUser(commentDto);
         Event event = getEvent(commentDto);
         EventComment comment = convertToEntity(commentDto, user, event, new EventComment());
-        eventCommentDao.save(updateContent(comment, getById(id)));
+        EventComment byId = getById(id);
+        eventCommentDao.save(updateContent(comment, byId));
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, byId.getEvent().getIdEvent());
         return HttpStatus.CREATED.value();
     }
 
@@ -59,8 +65,9 @@ public class EventCommentServiceImpl implements EventCommentService, EventCommen
 
     @Override
     public void deleteById(Long id) {
-        getById(id);
+        EventComment byId = getById(id);
         eventCommentDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, byId.getEvent().getIdEvent());
     }
 
     @Override
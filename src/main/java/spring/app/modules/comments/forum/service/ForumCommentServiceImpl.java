@@ -8,6 +8,7 @@ import spring.app.modules.comments.forum.domain.ForumComment;
 import spring.app.modules.comments.forum.dto.ForumCommentCreateDto;
 import spring.app.modules.comments.forum.dto.ForumCommentDto;
 import spring.app.modules.commons.exception.NotFoundException;
+import spring.app.modules.commons.service.DtoCache;
 import spring.app.modules.forum.dao.ForumDao;
 import spring.app.modules.forum.domain.Forum;
 import spring.app.modules.security.dao.UserDao;
@@ -24,11 +25,13 @@ public class ForumCommentServiceImpl implements ForumCommentService, ForumCommen
     private final ForumCommentDao forumCommentDao;
     private final UserDao userDao;
     private final ForumDao forumDao;
+    private final DtoCache dtoCache;
 
-    public ForumCommentServiceImpl(ForumCommentDao forumCommentDao, UserDao userDao, ForumDao forumDao) {
+    public ForumCommentServiceImpl(ForumCommentDao forumCommentDao, UserDao userDao, ForumDao forumDao, DtoCache dtoCache) {
         this.forumCommentDao = forumCommentDao;
         this.forumDao = forumDao;
         this.userDao = userDao;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -38,6 +41,7 @@ public class ForumCommentServiceImpl implements ForumCommentService, ForumCommen
         Forum forum = getForum(commentCreateDto);
         ForumComment comment = convertToEntity(commentCreateDto, user, forum, new ForumComment());
         forumCommentDao.save(comment);
+        dtoCache.evictAfterCommit(DtoCache.FORUMS, forum.getIdForum());
         return HttpStatus.CREATED.value();
     }
 
@@ -47,7 +51,9 @@ public class ForumCommentServiceImpl implements ForumCommentService, ForumCommen
         User user = getUser(commentCreateDto);
         Forum forum = getForum(commentCreateDto);
         ForumComment comment = convertToEntity(commentCreateDto, user, forum, new ForumComment());
-        forumCommentDao.save(updateContent(comment, getById(id)));
+        ForumComment byId = getById(id);
+        forumCommentDao.save(updateContent(comment, byId));
+        dtoCache.evictAfterCommit(DtoCache.FORUMS, byId.getForum().getIdForum());
         return HttpStatus.CREATED.value();
     }
 
@@ -59,8 +65,9 @@ public class ForumCommentServiceImpl implements ForumCommentService, ForumCommen
 
     @Override
     public void deleteById(Long id) {
-        getById(id);
+        ForumComment byId = getById(id);
         forumCommentDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.FORUMS, byId.getForum().getIdForum());
     }
 
     @Override
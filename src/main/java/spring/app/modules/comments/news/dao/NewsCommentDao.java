@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.comments.news.domain.NewsComment;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,8 @@ public interface NewsCommentDao extends JpaRepository<NewsComment, Long> {
     @Query(value = "SELECT * FROM public.news_comments" +
             " WHERE id_new = ?1", nativeQuery = true)
     List<NewsComment> findAllByNewsId(Long id);
+
+    @Query("SELECT c FROM NewsComment c JOIN FETCH c.createdBy" +
+            " WHERE c.news.idNew IN ?1 ORDER BY c.id")
+    List<NewsComment> findAllByNewsIds(Collection<Long> ids);
 }
@@ -8,6 +8,7 @@ import spring.app.modules.comments.news.domain.NewsComment;
 import spring.app.modules.comments.news.dto.NewsCommentCreateDto;
 import spring.app.modules.comments.news.dto.NewsCommentDto;
 import spring.app.modules.commons.exception.NotFoundException;
+import spring.app.modules.commons.service.DtoCache;
 import spring.app.modules.news.dao.NewDao;
 import spring.app.modules.news.domain.New;
 import spring.app.modules.security.dao.UserDao;
@@ -24,11 +25,13 @@ public class NewsCommentServiceImpl implements NewsCommentService, NewsCommentGe
     private final NewsCommentDao newsCommentDao;
     private final UserDao userDao;
     private final NewDao newDao;
+    private final DtoCache dtoCache;
 
-    public NewsCommentServiceImpl(NewsCommentDao newsCommentDao, UserDao userDao, NewDao newDao) {
+    public NewsCommentServiceImpl(NewsCommentDao newsCommentDao, UserDao userDao, NewDao newDao, DtoCache dtoCache) {
         this.newsCommentDao = newsCommentDao;
         this.userDao = userDao;
         this.newDao = newDao;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -38,6 +41,7 @@ public class NewsCommentServiceImpl implements NewsCommentService, NewsCommentGe
         New aNew = getNew(commentDto);
         NewsComment comment = convertToEntity(commentDto, user, aNew, new NewsComment());
         newsCommentDao.save(comment);
+        dtoCache.evictAfterCommit(DtoCache.NEWS, aNew.getIdNew());
         return HttpStatus.CREATED.value();
     }
 
@@ -47,7 +51,9 @@ public class NewsCommentServiceImpl implements NewsCommentService, NewsCommentGe
         User user = getUser(commentDto);
         New aNew = getNew(commentDto);
         NewsComment comment = convertToEntity(commentDto, user, aNew, new NewsComment());
-        newsCommentDao.save(updateContent(comment, getById(id)));
+        NewsComment byId = getById(id);
+        newsCommentDao.save(updateContent(comment, byId));
+        dtoCache.evictAfterCommit(DtoCache.NEWS, byId.getNews().getIdNew());
         return HttpStatus.CREATED.value();
     }
 
@@ -59,8 +65,9 @@ public class NewsCommentServiceImpl implements NewsCommentService, NewsCommentGe
 
     @Override
     public void deleteById(Long id) {
-        getById(id);
+        NewsComment byId = getById(id);
         newsCommentDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.NEWS, byId.getNews().getIdNew());
     }
 
     @Override
@@ -0,0 +1,25 @@
+package spring.app.modules.commons.controller;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import spring.app.modules.commons.dto.DtoCacheStatsDto;
+import spring.app.modules.commons.service.DtoCache;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/sport-maps/v1/dto-cache")
+@AllArgsConstructor
+public class DtoCacheController {
+    private final DtoCache dtoCache;
+
+    @GetMapping("/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, DtoCacheStatsDto> getStats() {
+        return dtoCache.getStats();
+    }
+}
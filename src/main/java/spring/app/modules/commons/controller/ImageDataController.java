@@ -0,0 +1,53 @@
+package spring.app.modules.commons.controller;
+
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import spring.app.modules.commons.domain.ImageSize;
+import spring.app.modules.commons.dto.ImageCacheStatsDto;
+import spring.app.modules.commons.service.ImageDataService;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/sport-maps/v1")
+@AllArgsConstructor
+public class ImageDataController {
+    private final ImageDataService imageDataService;
+
+    /**
+     * Streams the image file, Range requests are answered with 206 and the requested regions.
+     * @param size thumbnail, card or full, the original when omitted
+     */
+    @GetMapping("/images/{id}")
+    public ResponseEntity<Resource> getImage(@PathVariable("id") Long id,
+                                             @RequestParam(value = "size", required = false) String size,
+                                             WebRequest request) {
+        ImageDataService.ImageResource image = imageDataService.getImage(id, size == null ? null : ImageSize.fromValue(size));
+        if (request.checkNotModified(image.etag(), image.lastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(image.mediaType())
+                .lastModified(image.lastModified())
+                .eTag(image.etag())
+                // A variant still being generated replaces the original under the same URL
+                .cacheControl(image.fallback() ? CacheControl.noCache() : CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                .body(image.resource());
+    }
+
+    @GetMapping("/image-cache/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public ImageCacheStatsDto getCacheStats() {
+        return imageDataService.getCacheStats();
+    }
+}
@@ -11,7 +11,7 @@ import spring.app.modules.event.domain.Event;
 import spring.app.modules.news.domain.New;
 
 @Entity
-@Table(name = "image_data")
+@Table(name = "image_data", indexes = @Index(name = "idx_image_data_hash", columnList = "hash"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,6 +31,9 @@ public class ImageData {
     @Column(name = "file_path")
     private String filePath;
 
+    @Column(name = "hash", length = 64)
+    private String hash;
+
     @ManyToOne
     @JoinColumn(name = "id_new")
     @JsonBackReference
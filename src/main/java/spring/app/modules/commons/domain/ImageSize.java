@@ -0,0 +1,26 @@
+package spring.app.modules.commons.domain;
+
+public enum ImageSize {
+    THUMBNAIL(150),
+    CARD(480),
+    FULL(1280);
+
+    private final int maxDimension;
+
+    ImageSize(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static ImageSize fromValue(String value) {
+        for (ImageSize size : values()) {
+            if (size.name().equalsIgnoreCase(value)) {
+                return size;
+            }
+        }
+        throw new IllegalArgumentException("Image size " + value + " is not supported!");
+    }
+}
@@ -0,0 +1,47 @@
+package spring.app.modules.commons.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "image_variant", uniqueConstraints = @UniqueConstraint(columnNames = {"id_image", "size"}),
+        indexes = @Index(name = "idx_image_variant_hash", columnList = "hash"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImageVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_variant")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_image", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private ImageData image;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "size", nullable = false)
+    private ImageSize size;
+
+    @Column(name = "type")
+    private String type;
+
+    @Column(name = "width")
+    private int width;
+
+    @Column(name = "height")
+    private int height;
+
+    @Column(name = "file_path")
+    private String filePath;
+
+    @Column(name = "hash", length = 64)
+    private String hash;
+}
@@ -0,0 +1,16 @@
+package spring.app.modules.commons.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class DtoCacheStatsDto {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long size;
+}
@@ -0,0 +1,17 @@
+package spring.app.modules.commons.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class ImageCacheStatsDto {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+    private long bytes;
+    private long maxBytes;
+}
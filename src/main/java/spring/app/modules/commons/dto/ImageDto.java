@@ -0,0 +1,15 @@
+package spring.app.modules.commons.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class ImageDto {
+    private Long id;
+    private String url;
+    private String name;
+    private String type;
+}
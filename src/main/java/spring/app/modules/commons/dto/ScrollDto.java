@@ -0,0 +1,18 @@
+package spring.app.modules.commons.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * One keyset page, {@code nextCursor} is {@code null} on the last page.
+ */
+@Getter
+@Builder
+@Jacksonized
+public class ScrollDto<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -5,14 +5,38 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.commons.domain.ImageData;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface ImageDataDao extends JpaRepository<ImageData, Long> {
-    @Query(value = "SELECT * FROM public.image_data" +
-            " WHERE name = ?1 AND file_path = ?2", nativeQuery = true)
-    Optional<ImageData> findByNameAndFilePath(String name, String filePath);
+    @Query(value = "SELECT COUNT(*) FROM public.image_data" +
+            " WHERE hash = ?1", nativeQuery = true)
+    long countByHash(String hash);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM public.image_data" +
+            " WHERE hash = ?1 AND id_new = ?2", nativeQuery = true)
+    boolean existsByHashAndANewId(String hash, Long id);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM public.image_data" +
+            " WHERE hash = ?1 AND id_event = ?2", nativeQuery = true)
+    boolean existsByHashAndEventId(String hash, Long id);
+
+    @Query(value = "SELECT COUNT(*) > 0 FROM public.image_data" +
+            " WHERE hash = ?1 AND id_coach = ?2", nativeQuery = true)
+    boolean existsByHashAndCoachId(String hash, Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM public.image_data" +
+            " WHERE id_new = ?1", nativeQuery = true)
+    long countByANewId(Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM public.image_data" +
+            " WHERE id_event = ?1", nativeQuery = true)
+    long countByEventId(Long id);
+
+    @Query(value = "SELECT COUNT(*) FROM public.image_data" +
+            " WHERE id_coach = ?1", nativeQuery = true)
+    long countByCoachId(Long id);
 
     @Query(value = "SELECT * FROM public.image_data" +
             " WHERE id_new = ?1", nativeQuery = true)
@@ -25,4 +49,16 @@ public interface ImageDataDao extends JpaRepository<ImageData, Long> {
     @Query(value = "SELECT * FROM public.image_data" +
             " WHERE id_coach = ?1", nativeQuery = true)
     List<ImageData> findAllByCoachId(Long id);
+
+    @Query(value = "SELECT id_image AS id, name, type, id_new AS \"ownerId\" FROM public.image_data" +
+            " WHERE id_new IN (?1) ORDER BY id_image", nativeQuery = true)
+    List<ImageDescriptor> findDescriptorsByANewIds(Collection<Long> ids);
+
+    @Query(value = "SELECT id_image AS id, name, type, id_event AS \"ownerId\" FROM public.image_data" +
+            " WHERE id_event IN (?1) ORDER BY id_image", nativeQuery = true)
+    List<ImageDescriptor> findDescriptorsByEventIds(Collection<Long> ids);
+
+    @Query(value = "SELECT id_image AS id, name, type, id_coach AS \"ownerId\" FROM public.image_data" +
+            " WHERE id_coach IN (?1) ORDER BY id_image", nativeQuery = true)
+    List<ImageDescriptor> findDescriptorsByCoachIds(Collection<Long> ids);
 }
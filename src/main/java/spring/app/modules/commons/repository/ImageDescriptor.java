@@ -0,0 +1,14 @@
+package spring.app.modules.commons.repository;
+
+/**
+ * Image row without its owner entity, {@code ownerId} is the event, news or coach id it was queried by.
+ */
+public interface ImageDescriptor {
+    Long getId();
+
+    String getName();
+
+    String getType();
+
+    Long getOwnerId();
+}
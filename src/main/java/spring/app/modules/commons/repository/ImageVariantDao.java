@@ -0,0 +1,30 @@
+package spring.app.modules.commons.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import spring.app.modules.commons.domain.ImageSize;
+import spring.app.modules.commons.domain.ImageVariant;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImageVariantDao extends JpaRepository<ImageVariant, Long> {
+    @Query(value = "SELECT * FROM public.image_variant" +
+            " WHERE id_image = ?1 AND size = ?2", nativeQuery = true)
+    Optional<ImageVariant> findByImageIdAndSize(Long imageId, String size);
+
+    @Query(value = "SELECT hash FROM public.image_variant" +
+            " WHERE id_image IN ?1 AND hash IS NOT NULL", nativeQuery = true)
+    List<String> findHashesByImageIds(Collection<Long> imageIds);
+
+    @Query(value = "SELECT COUNT(*) FROM public.image_variant" +
+            " WHERE hash = ?1", nativeQuery = true)
+    long countByHash(String hash);
+
+    default Optional<ImageVariant> findByImageIdAndSize(Long imageId, ImageSize size) {
+        return findByImageIdAndSize(imageId, size.name());
+    }
+}
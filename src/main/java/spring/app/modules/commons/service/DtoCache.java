@@ -0,0 +1,109 @@
+package spring.app.modules.commons.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import spring.app.modules.commons.dto.DtoCacheStatsDto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of finished {@code *AllInfoDto} objects keyed by entity id, one cache per module.
+ * Cached values outlive the persistence context, so loaders must initialize every lazy association
+ * the DTO exposes.
+ */
+@Component
+public class DtoCache {
+
+    public static final String EVENTS = "events";
+    public static final String NEWS = "news";
+    public static final String FORUMS = "forums";
+    public static final String COACHES = "coaches";
+    static final String[] CACHE_NAMES = {EVENTS, NEWS, FORUMS, COACHES};
+
+    private final CacheManager dtoCacheManager;
+    private final InvalidationBus invalidationBus;
+
+    public DtoCache(CacheManager dtoCacheManager, InvalidationBus invalidationBus) {
+        this.dtoCacheManager = dtoCacheManager;
+        this.invalidationBus = invalidationBus;
+        for (String name : CACHE_NAMES) {
+            Cache cache = cache(name);
+            invalidationBus.subscribe(name, new InvalidationBus.Listener() {
+                @Override
+                public void invalidate(Long id) {
+                    cache.evict(id);
+                }
+
+                @Override
+                public void invalidateAll() {
+                    cache.clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Exceptions thrown by the loader are rethrown as-is rather than wrapped, so a missing id still
+     * reaches the exception handler as {@code NotFoundException}.
+     */
+    public <T> T get(String module, Long id, Supplier<T> loader) {
+        try {
+            return cache(module).get(id, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts now and again after commit, so a read racing the transaction can't keep the old value,
+     * and tells the other nodes once the transaction commits.
+     */
+    public void evictAfterCommit(String module, Long id) {
+        Cache cache = cache(module);
+        cache.evict(id);
+        invalidationBus.publish(module, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(id);
+                }
+            });
+        }
+    }
+
+    public Map<String, DtoCacheStatsDto> getStats() {
+        Map<String, DtoCacheStatsDto> stats = new LinkedHashMap<>();
+        for (String name : CACHE_NAMES) {
+            if (cache(name) instanceof CaffeineCache caffeineCache) {
+                CacheStats cacheStats = caffeineCache.getNativeCache().stats();
+                stats.put(name, DtoCacheStatsDto.builder()
+                        .hits(cacheStats.hitCount())
+                        .misses(cacheStats.missCount())
+                        .hitRate(cacheStats.hitRate())
+                        .evictions(cacheStats.evictionCount())
+                        .size(caffeineCache.getNativeCache().estimatedSize())
+                        .build());
+            }
+        }
+        return stats;
+    }
+
+    private Cache cache(String module) {
+        Cache cache = dtoCacheManager.getCache(module);
+        if (cache == null) {
+            throw new IllegalStateException("No DTO cache named " + module);
+        }
+        return cache;
+    }
+}
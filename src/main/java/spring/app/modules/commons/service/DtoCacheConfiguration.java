@@ -0,0 +1,19 @@
+package spring.app.modules.commons.service;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DtoCacheConfiguration {
+
+    @Bean
+    public CacheManager dtoCacheManager(@Value("${sport.maps.dto-cache.spec:maximumSize=1000,expireAfterWrite=10m}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(DtoCache.CACHE_NAMES);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(spec + ",recordStats"));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,114 @@
+package spring.app.modules.commons.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory row counts per table so count endpoints don't scan. Counts are adjusted after each
+ * committed create or delete and periodically reconciled with {@code COUNT(*)}, so rows changed
+ * outside the services are picked up eventually.
+ */
+@Component
+@Slf4j
+public class EntityCounter {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean estimate;
+
+    public EntityCounter(JdbcTemplate jdbcTemplate,
+                         @Value("${sport.maps.counters.estimate:false}") boolean estimate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimate = estimate;
+    }
+
+    /**
+     * @param table table name, also the counter key
+     * @param exactCount query used on first access and on reconciliation
+     */
+    public long count(String table, LongSupplier exactCount) {
+        return counters.computeIfAbsent(table, t -> new Counter(exactCount, initialCount(t, exactCount)))
+                .value().get();
+    }
+
+    public void incrementAfterCommit(String table) {
+        addAfterCommit(table, 1);
+    }
+
+    public void decrementAfterCommit(String table) {
+        addAfterCommit(table, -1);
+    }
+
+    @Scheduled(initialDelayString = "${sport.maps.counters.reconcile-interval:PT5M}",
+            fixedDelayString = "${sport.maps.counters.reconcile-interval:PT5M}")
+    public void reconcile() {
+        counters.forEach((table, counter) -> {
+            try {
+                long actual = counter.exactCount().getAsLong();
+                long cached = counter.value().getAndSet(actual);
+                if (cached != actual) {
+                    log.debug("Counter {} drifted from {} to {}", table, cached, actual);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Unable to reconcile counter {}: {}", table, e.getMessage());
+            }
+        });
+    }
+
+    private void addAfterCommit(String table, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(table, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(table, delta);
+            }
+        });
+    }
+
+    private void add(String table, long delta) {
+        // Not loaded yet, the first read will count
+        Counter counter = counters.get(table);
+        if (counter != null) {
+            counter.value().addAndGet(delta);
+        }
+    }
+
+    /**
+     * With estimates enabled the planner's {@code reltuples} is used until the first reconciliation,
+     * it is -1 for tables that were never analyzed.
+     */
+    private long initialCount(String table, LongSupplier exactCount) {
+        if (estimate) {
+            try {
+                Long reltuples = jdbcTemplate.queryForObject(
+                        "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, "public." + table);
+                if (reltuples != null && reltuples >= 0) {
+                    return reltuples;
+                }
+            } catch (DataAccessException e) {
+                log.debug("No row estimate for {}: {}", table, e.getMessage());
+            }
+        }
+        return exactCount.getAsLong();
+    }
+
+    private record Counter(LongSupplier exactCount, AtomicLong value) {
+        Counter(LongSupplier exactCount, long initial) {
+            this(exactCount, new AtomicLong(initial));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package spring.app.modules.commons.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.repository.ImageVariantDao;
+
+import java.io.IOException;
+
+/**
+ * Publishes and releases stored blobs under a Postgres advisory lock on their hash. A blob is published
+ * in the transaction that saves the row referencing it and the lock is held until that commits, so a
+ * concurrent release either sees the row or deletes the blob before it is published again.
+ */
+@Service
+@Slf4j
+public class ImageBlobService {
+
+    private final ImageStore imageStore;
+    private final ImageDataDao imageDataDao;
+    private final ImageVariantDao imageVariantDao;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate releaseTransaction;
+
+    public ImageBlobService(ImageStore imageStore,
+                            ImageDataDao imageDataDao,
+                            ImageVariantDao imageVariantDao,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.imageStore = imageStore;
+        this.imageDataDao = imageDataDao;
+        this.imageVariantDao = imageVariantDao;
+        this.jdbcTemplate = jdbcTemplate;
+        // Releases run after another transaction completed, they must not join it
+        this.releaseTransaction = new TransactionTemplate(transactionManager);
+        this.releaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Moves staged content under its hash. Call inside the transaction that saves the referencing row,
+     * a blob created here is released again when that transaction rolls back.
+     * @return {@code false} when the same content was already stored
+     */
+    public boolean publish(ImageStore.StagedImage staged) throws IOException {
+        lock(staged.hash());
+        boolean created = imageStore.publish(staged);
+        if (created) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        release(staged.hash());
+                    }
+                }
+            });
+        }
+        return created;
+    }
+
+    /**
+     * Deletes the blob when no image or variant row references it any more.
+     */
+    public void release(String hash) {
+        releaseTransaction.executeWithoutResult(status -> {
+            lock(hash);
+            if (imageDataDao.countByHash(hash) + imageVariantDao.countByHash(hash) > 0) {
+                return;
+            }
+            try {
+                imageStore.delete(hash);
+            } catch (IOException e) {
+                log.warn("Unable to delete image blob {}: {}", hash, e.getMessage());
+            }
+        });
+    }
+
+    private void lock(String hash) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext(?))", (PreparedStatementCallback<Boolean>) ps -> {
+            ps.setString(1, hash);
+            return ps.execute();
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package spring.app.modules.commons.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import spring.app.modules.commons.dto.ImageCacheStatsDto;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of image files held in direct buffers, bounded by total bytes. Cached images are
+ * served from off-heap memory without touching the disk or allocating a heap copy per request.
+ */
+@Component
+@Slf4j
+public class ImageCache {
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final Map<String, CachedImage> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ImageCache(@Value("${sport.maps.images.cache.max-size:64MB}") DataSize maxSize,
+                      @Value("${sport.maps.images.cache.max-entry-size:2MB}") DataSize maxEntrySize) {
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = Math.min(maxEntrySize.toBytes(), maxBytes);
+    }
+
+    /**
+     * @return the cached image, or a plain file resource when the file is too large to cache
+     */
+    public Resource get(String key, File file) {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        synchronized (cache) {
+            CachedImage cached = cache.get(key);
+            if (cached != null && cached.length == length && cached.lastModified == lastModified) {
+                hits.incrementAndGet();
+                return new BufferResource(cached);
+            }
+        }
+        misses.incrementAndGet();
+        if (length > maxEntryBytes) {
+            return new FileSystemResource(file);
+        }
+        CachedImage loaded;
+        try {
+            loaded = new CachedImage(load(file, length), length, lastModified, file.getPath());
+        } catch (IOException e) {
+            log.warn("Unable to cache image {}: {}", file, e.getMessage());
+            return new FileSystemResource(file);
+        }
+        synchronized (cache) {
+            CachedImage previous = cache.put(key, loaded);
+            if (previous != null) {
+                bytes -= previous.length;
+            }
+            bytes += length;
+            Iterator<CachedImage> eldest = cache.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+        return new BufferResource(loaded);
+    }
+
+    public ImageCacheStatsDto getStats() {
+        synchronized (cache) {
+            return ImageCacheStatsDto.builder()
+                    .hits(hits.get())
+                    .misses(misses.get())
+                    .evictions(evictions.get())
+                    .size(cache.size())
+                    .bytes(bytes)
+                    .maxBytes(maxBytes)
+                    .build();
+        }
+    }
+
+    private static ByteBuffer load(File file, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                // keep reading until the buffer is full
+            }
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("File changed while reading");
+        }
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    private record CachedImage(ByteBuffer buffer, long length, long lastModified, String path) {
+    }
+
+    private static final class BufferResource extends AbstractResource {
+        private final CachedImage image;
+
+        private BufferResource(CachedImage image) {
+            this.image = image;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new BufferInputStream(image.buffer().duplicate());
+        }
+
+        @Override
+        public long contentLength() {
+            return image.length();
+        }
+
+        @Override
+        public long lastModified() {
+            return image.lastModified();
+        }
+
+        @Override
+        public String getDescription() {
+            return "Cached image [" + image.path() + "]";
+        }
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -1,105 +1,276 @@
 package spring.app.modules.commons.service;
 
-/*import lombok.AllArgsConstructor;
-import org.apache.tomcat.util.http.fileupload.IOUtils;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import spring.app.modules.coach.domain.Coach;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.commons.domain.ImageData;
+import spring.app.modules.commons.domain.ImageSize;
+import spring.app.modules.commons.domain.ImageVariant;
+import spring.app.modules.commons.dto.ImageCacheStatsDto;
+import spring.app.modules.commons.dto.ImageDto;
 import spring.app.modules.commons.exception.AlreadyExistException;
 import spring.app.modules.commons.exception.NotFoundException;
 import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.repository.ImageDescriptor;
+import spring.app.modules.commons.repository.ImageVariantDao;
 
-import java.io.*;
-import java.nio.file.Files;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 @Service
+@Transactional(readOnly = true)
 @AllArgsConstructor
+@Slf4j
 public class ImageDataService {
 
-    private final ImageDataDao imageDataDao;
+    private static final String IMAGE_URL = "/sport-maps/v1/images/";
+    private static final int ZIP_BUFFER_SIZE = 64 * 1024;
+    private static final List<MediaType> COMPRESSED_TYPES = List.of(MediaType.IMAGE_JPEG, MediaType.IMAGE_PNG,
+            MediaType.IMAGE_GIF, MediaType.parseMediaType("image/webp"));
 
-    public String uploadImage(MultipartFile file, Long id) throws IOException {
-        String filePath = FOLDER_PATH + "\\" + file.getOriginalFilename();
-        validatePresentImage(file.getOriginalFilename(), filePath);
-        Coach byId = getById(id);
+    private final ImageDataDao imageDataDao;
+    private final ImageVariantDao imageVariantDao;
+    private final ImageStore imageStore;
+    private final ImageBlobService imageBlobService;
+    private final ImageVariantService imageVariantService;
+    private final ImageCache imageCache;
+    private final ImageUploadValidator imageUploadValidator;
+    private final TransactionTemplate transactionTemplate;
 
-        imageDataDao.save(ImageData
-                .builder()
-                .name(file.getOriginalFilename())
-                .type(file.getContentType())
-                .filePath(filePath)
-                .coach(byId)
-                .build()
-        );
+    /**
+     * Loads the images of all owners with one query and groups them by owner id, in upload order.
+     * @param query one of the {@code ImageDataDao.findDescriptorsBy*Ids} queries
+     */
+    public Map<Long, List<ImageDto>> findImagesByOwners(Collection<Long> ownerIds,
+                                                       Function<Collection<Long>, List<ImageDescriptor>> query) {
+        if (ownerIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, List<ImageDto>> images = new HashMap<>();
+        for (ImageDescriptor descriptor : query.apply(ownerIds)) {
+            images.computeIfAbsent(descriptor.getOwnerId(), id -> new ArrayList<>()).add(ImageDto.builder()
+                    .id(descriptor.getId())
+                    .url(IMAGE_URL + descriptor.getId())
+                    .name(descriptor.getName())
+                    .type(descriptor.getType())
+                    .build());
+        }
+        return images;
+    }
 
-        file.transferTo(new File(filePath));
-        return "Image uploaded successfully " + file.getOriginalFilename();
+    /**
+     * Checks the owner's image quota and the declared size before the body is read.
+     * @param contentLength declared body length, negative when unknown
+     */
+    public void validateUpload(long attachedImages, long contentLength) {
+        imageUploadValidator.validateUpload(attachedImages, contentLength);
     }
 
-    public byte[] downloadImages(Long id) throws IOException {
-        List<ImageData> imageData = imageDataDao.findAllByCoachId(id);
-        if (imageData.isEmpty()) {
-            throw new NotFoundException("No image by the id " + id + " has been found!");
+    /**
+     * Stores the uploaded content and saves {@code imageData} pointing at it. The content is streamed
+     * into the store in chunks with no transaction open, so a slow body does not hold a connection;
+     * unsupported formats and oversize bodies are rejected while reading. The row is then saved in a
+     * short transaction of its own and a blob created for it is released again when that fails.
+     * @param imageData new row with its owner set
+     * @param alreadyAttached tells by content hash whether the owner already has this image
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImageData attachImage(InputStream content, String name, ImageData imageData,
+                                 Predicate<String> alreadyAttached) throws IOException {
+        ImageUploadValidator.Upload upload = imageUploadValidator.open(content);
+        ImageStore.StagedImage staged = imageStore.stage(upload.content());
+        try {
+            return transactionTemplate.execute(status -> {
+                publish(staged);
+                if (alreadyAttached.test(staged.hash())) {
+                    throw new AlreadyExistException("Image already exists!");
+                }
+                imageData.setName(name);
+                imageData.setType(upload.format().getMediaType());
+                imageData.setHash(staged.hash());
+                imageData.setFilePath(imageStore.resolve(staged.hash()).toString());
+                ImageData saved = imageDataDao.save(imageData);
+                imageVariantService.generateAfterCommit(saved.getId());
+                return saved;
+            });
+        } finally {
+            imageStore.discard(staged);
         }
-        return zipImages(imageData.stream().map(ImageData::getFilePath).toList());
     }
 
-    private byte[] zipImages(List<String> imgPathList) throws IOException {
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-        ZipOutputStream zipOutputStream = new ZipOutputStream(bufferedOutputStream);
-
-        List<File> fileList = new ArrayList<>();
+    /**
+     * Deletes the blobs of images, and of their variants, that are no longer referenced once the
+     * current transaction has removed the rows. Call before the rows are deleted.
+     */
+    @Transactional
+    public void releaseAfterCommit(List<ImageData> images) {
+        if (images.isEmpty()) {
+            return;
+        }
+        Set<String> hashes = new LinkedHashSet<>();
+        List<Long> ids = new ArrayList<>(images.size());
+        for (ImageData image : images) {
+            ids.add(image.getId());
+            if (image.getHash() != null) {
+                hashes.add(image.getHash());
+            }
+        }
+        hashes.addAll(imageVariantDao.findHashesByImageIds(ids));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hashes.forEach(imageBlobService::release);
+            }
+        });
+    }
 
-        for (String imgPath : imgPathList) {
-            fileList.add(new File(imgPath));
+    private void publish(ImageStore.StagedImage staged) {
+        try {
+            imageBlobService.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        for (File file : fileList) {
-            zipOutputStream.putNextEntry(new ZipEntry(file.getName()));
-            FileInputStream fileInputStream;
-            try {
-                fileInputStream = new FileInputStream(file);
-            } catch (FileNotFoundException e) {
-                throw new NotFoundException("Image with path "
-                        + file.getPath() + " has not been found!");
+    /**
+     * @param size requested variant, the original is served when it is {@code null} or not generated
+     */
+    public ImageResource getImage(Long id, ImageSize size) {
+        if (size != null) {
+            Optional<ImageVariant> variant = imageVariantDao.findByImageIdAndSize(id, size);
+            if (variant.isPresent() && new File(variant.get().getFilePath()).isFile()) {
+                return toResource(id + "-" + size.name().toLowerCase(Locale.ROOT), new File(variant.get().getFilePath()),
+                        MediaType.parseMediaType(variant.get().getType()), false);
             }
+        }
+        ImageData imageData = imageDataDao.findById(id).orElseThrow(() ->
+                new NotFoundException("Image by id " + id + " was not found!"));
+        File file = new File(imageData.getFilePath());
+        if (!file.isFile()) {
+            throw new NotFoundException("Image with path " + imageData.getFilePath() + " has not been found!");
+        }
+        return toResource(String.valueOf(id), file, getMediaType(imageData), size != null);
+    }
 
-            IOUtils.copy(fileInputStream, zipOutputStream);
+    private ImageResource toResource(String key, File file, MediaType mediaType, boolean fallback) {
+        long lastModified = file.lastModified();
+        String etag = "\"" + key + "-" + Long.toHexString(lastModified) + "-" + Long.toHexString(file.length()) + "\"";
+        return new ImageResource(imageCache.get(key, file), mediaType, lastModified, etag, fallback);
+    }
 
-            fileInputStream.close();
-            zipOutputStream.closeEntry();
+    public ImageCacheStatsDto getCacheStats() {
+        return imageCache.getStats();
+    }
+
+    private MediaType getMediaType(ImageData imageData) {
+        if (imageData.getType() != null) {
+            try {
+                return MediaType.parseMediaType(imageData.getType());
+            } catch (InvalidMimeTypeException ignored) {
+                // fall back to the file extension
+            }
         }
+        return MediaTypeFactory.getMediaType(imageData.getName()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
 
-        zipOutputStream.finish();
-        zipOutputStream.flush();
-        IOUtils.closeQuietly(zipOutputStream);
-        IOUtils.closeQuietly(bufferedOutputStream);
-        IOUtils.closeQuietly(byteArrayOutputStream);
+    /**
+     * @param fallback the original is served in place of a variant that is not generated yet
+     */
+    public record ImageResource(Resource resource, MediaType mediaType, long lastModified, String etag,
+                                boolean fallback) {
+    }
 
-        return byteArrayOutputStream.toByteArray();
+    /**
+     * Streams the images as a ZIP archive. JPEG, PNG, GIF and WebP entries are STORED since they are
+     * already compressed, their CRC is computed in a first pass over the file so nothing is buffered.
+     */
+    public StreamingResponseBody zipImages(List<ImageData> images) {
+        List<ZipSource> sources = new ArrayList<>(images.size());
+        for (ImageData image : images) {
+            File file = new File(image.getFilePath());
+            if (file.isFile()) {
+                sources.add(new ZipSource(entryName(image), file, isCompressed(getMediaType(image))));
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new NotFoundException("No images have been found!");
+        }
+        return out -> writeZip(sources, out);
     }
 
-    private byte[] fetchImage(Long id) throws IOException {
-        List<ImageData> allByCoachId = imageDataDao.findAllByCoachId(id);
-        if (allByCoachId.isEmpty()) {
-            return null;
+    private static void writeZip(List<ZipSource> sources, OutputStream out) throws IOException {
+        byte[] buffer = new byte[ZIP_BUFFER_SIZE];
+        ZipOutputStream zip = new ZipOutputStream(out);
+        for (ZipSource source : sources) {
+            ZipEntry entry = new ZipEntry(source.name());
+            if (source.stored()) {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(source.file().length());
+                entry.setCompressedSize(source.file().length());
+                entry.setCrc(crc(source.file(), buffer));
+            }
+            zip.putNextEntry(entry);
+            try (InputStream in = new FileInputStream(source.file())) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
         }
-        ImageData singleImage = allByCoachId.stream().findFirst().orElseThrow();
-        String imagePath = singleImage.getFilePath();
-        return Files.readAllBytes(new File(imagePath).toPath());
+        zip.finish();
+        zip.flush();
     }
 
-    private void validatePresentImage(String name, String filePath) {
-        Optional<ImageData> result = imageDataDao.findByNameAndFilePath(name, filePath);
-        if (result.isPresent()) {
-            throw new AlreadyExistException("Image already exists!");
+    private static long crc(File file, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
         }
+        return crc.getValue();
+    }
+
+    private static String entryName(ImageData imageData) {
+        String name = imageData.getName() == null ? "" : imageData.getName();
+        name = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        return imageData.getId() + (name.isBlank() ? "" : "-" + name);
+    }
+
+    private static boolean isCompressed(MediaType mediaType) {
+        return COMPRESSED_TYPES.stream().anyMatch(type -> type.equalsTypeAndSubtype(mediaType));
+    }
+
+    private record ZipSource(String name, File file, boolean stored) {
     }
-}*/
+}
@@ -0,0 +1,51 @@
+package spring.app.modules.commons.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Content-addressed blob storage for images. Equal content is stored once under its SHA-256 hash.
+ */
+public interface ImageStore {
+
+    /**
+     * Writes the content, hashing it on the way.
+     * @return stored blob, {@link StoredImage#created()} is {@code false} when the same content already existed
+     */
+    default StoredImage store(InputStream content) throws IOException {
+        StagedImage staged = stage(content);
+        try {
+            return new StoredImage(staged.hash(), staged.size(), publish(staged));
+        } finally {
+            discard(staged);
+        }
+    }
+
+    /**
+     * Writes the content to a staging file, hashing it on the way. Nothing is visible under the hash
+     * until the staged content is published.
+     */
+    StagedImage stage(InputStream content) throws IOException;
+
+    /**
+     * Moves staged content under its hash.
+     * @return {@code false} when the same content already existed, the staged file is then left in place
+     */
+    boolean publish(StagedImage staged) throws IOException;
+
+    /**
+     * Deletes the staging file if it was not published.
+     */
+    void discard(StagedImage staged) throws IOException;
+
+    Path resolve(String hash);
+
+    void delete(String hash) throws IOException;
+
+    record StoredImage(String hash, long size, boolean created) {
+    }
+
+    record StagedImage(String hash, long size, Path file) {
+    }
+}
@@ -0,0 +1,104 @@
+package spring.app.modules.commons.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import spring.app.modules.commons.domain.ImageFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Upload limits checked before and while an image body is read, so oversize or non-image content
+ * is rejected without being buffered.
+ */
+@Component
+public class ImageUploadValidator {
+
+    private final long maxSize;
+    private final int maxPerOwner;
+
+    public ImageUploadValidator(@Value("${sport.maps.images.upload.max-size:10MB}") DataSize maxSize,
+                                @Value("${sport.maps.images.upload.max-per-owner:50}") int maxPerOwner) {
+        this.maxSize = maxSize.toBytes();
+        this.maxPerOwner = maxPerOwner;
+    }
+
+    /**
+     * @param attachedImages images the owner already has
+     * @param contentLength declared body length, negative when unknown
+     */
+    public void validateUpload(long attachedImages, long contentLength) {
+        if (attachedImages >= maxPerOwner) {
+            throw new IllegalArgumentException("Image limit of " + maxPerOwner + " has been reached!");
+        }
+        if (contentLength > maxSize) {
+            throw new IllegalArgumentException("Image is larger than " + maxSize + " bytes!");
+        }
+        if (contentLength == 0) {
+            throw new IllegalArgumentException("Image is empty!");
+        }
+    }
+
+    /**
+     * Reads the magic bytes of {@code content} and wraps the rest so reading past the size limit fails.
+     */
+    public Upload open(InputStream content) throws IOException {
+        byte[] header = content.readNBytes(ImageFormat.HEADER_LENGTH);
+        ImageFormat format = ImageFormat.detect(header, header.length).orElseThrow(() ->
+                new IllegalArgumentException("Image format is not supported!"));
+        InputStream body = new SequenceInputStream(new ByteArrayInputStream(header), content);
+        return new Upload(format, new LimitedInputStream(body, maxSize));
+    }
+
+    public record Upload(ImageFormat format, InputStream content) {
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            return 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(int read) {
+            count += read;
+            if (count > limit) {
+                throw new IllegalArgumentException("Image is larger than " + limit + " bytes!");
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package spring.app.modules.commons.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@Slf4j
+public class ImageVariantConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(@Value("${sport.maps.images.variants.threads:2}") int threads,
+                                                       @Value("${sport.maps.images.variants.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        // Images without variants are served in their original size, so dropping work under load is safe
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("Image variant queue is full, task dropped"));
+        executor.setThreadNamePrefix("image-variant-");
+        return executor;
+    }
+}
@@ -0,0 +1,145 @@
+package spring.app.modules.commons.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import spring.app.modules.commons.domain.ImageData;
+import spring.app.modules.commons.domain.ImageSize;
+import spring.app.modules.commons.domain.ImageVariant;
+import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.repository.ImageVariantDao;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Produces downscaled variants of uploaded images in the background.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantService {
+
+    private final ImageDataDao imageDataDao;
+    private final ImageVariantDao imageVariantDao;
+    private final ImageStore imageStore;
+    private final ImageBlobService imageBlobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor imageVariantExecutor;
+
+    /**
+     * Schedules variant generation once the current transaction commits, so workers
+     * never see an image row or file that may still be rolled back.
+     */
+    public void generateAfterCommit(Long imageId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(imageId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(imageId);
+            }
+        });
+    }
+
+    private void submit(Long imageId) {
+        imageVariantExecutor.execute(() -> generate(imageId));
+    }
+
+    private void generate(Long imageId) {
+        ImageData imageData = imageDataDao.findById(imageId).orElse(null);
+        if (imageData == null) {
+            return;
+        }
+        try {
+            BufferedImage source = ImageIO.read(new File(imageData.getFilePath()));
+            if (source == null) {
+                log.info("Image {} has an unsupported format, no variants generated", imageId);
+                return;
+            }
+            boolean alpha = source.getColorModel().hasAlpha();
+            String format = alpha ? "png" : "jpg";
+            int longest = Math.max(source.getWidth(), source.getHeight());
+            for (ImageSize size : ImageSize.values()) {
+                // Smaller originals are served as they are
+                if (longest <= size.getMaxDimension()) {
+                    continue;
+                }
+                double scale = (double) size.getMaxDimension() / longest;
+                int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+                int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                ImageIO.write(resize(source, width, height, alpha), format, encoded);
+                ImageStore.StagedImage staged = imageStore.stage(new ByteArrayInputStream(encoded.toByteArray()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        publish(staged);
+                        imageVariantDao.save(ImageVariant.builder()
+                                .image(imageData)
+                                .size(size)
+                                .type(alpha ? "image/png" : "image/jpeg")
+                                .width(width)
+                                .height(height)
+                                .filePath(imageStore.resolve(staged.hash()).toString())
+                                .hash(staged.hash())
+                                .build());
+                    });
+                } catch (DataIntegrityViolationException e) {
+                    // The image was deleted while its variants were generated
+                    imageBlobService.release(staged.hash());
+                    log.debug("Image {} was deleted, {} variant discarded", imageId, size);
+                    return;
+                } finally {
+                    imageStore.discard(staged);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Unable to generate variants for image {}: {}", imageId, e.getMessage());
+        }
+    }
+
+    private void publish(ImageStore.StagedImage staged) {
+        try {
+            imageBlobService.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Halves the image until it is within 2x of the target, bilinear scaling alone
+     * skips source pixels on large reductions.
+     */
+    private static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+}
@@ -0,0 +1,211 @@
+package spring.app.modules.commons.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tells the other application nodes which entities changed so they drop their in-process copies.
+ * Notifications go through Postgres {@code NOTIFY}: sent inside a transaction they are delivered only
+ * when it commits and dropped on rollback. Each node listens on its own connection outside the pool
+ * and skips its own notifications. After the listener reconnects, every subscriber is reset since
+ * notifications sent meanwhile are lost.
+ */
+@Component
+@Slf4j
+public class InvalidationBus {
+
+    private static final String CHANNEL = "sport_maps_invalidation";
+    private static final String ALL = "*";
+    private static final char SEPARATOR = '|';
+    // Postgres rejects payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final int POLL_MILLIS = 1000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private Thread thread;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate,
+                           @Value("${sport.maps.invalidation.enabled:true}") boolean enabled,
+                           @Value("${sport.maps.invalidation.reconnect-delay:5s}") Duration reconnectDelay,
+                           @Value("${spring.datasource.url}") String url,
+                           @Value("${spring.datasource.username}") String username,
+                           @Value("${spring.datasource.password}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.reconnectDelay = reconnectDelay;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Invalidation callbacks of one module, called on the listener thread.
+     */
+    public interface Listener {
+        void invalidate(Long id);
+
+        void invalidateAll();
+    }
+
+    public void subscribe(String module, Listener listener) {
+        listeners.computeIfAbsent(module, m -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void publish(String module, Long id) {
+        publish(module, List.of(id));
+    }
+
+    /**
+     * Publishes with the current transaction, if any, so other nodes hear about the change only once it
+     * is committed. Failures are logged, the other nodes then catch up when their entries expire.
+     */
+    public void publish(String module, Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        String prefix = nodeId + SEPARATOR + module + SEPARATOR;
+        StringBuilder payload = new StringBuilder(prefix);
+        for (Long id : ids) {
+            if (payload.length() > MAX_PAYLOAD_LENGTH) {
+                send(payload.substring(0, payload.length() - 1));
+                payload.setLength(prefix.length());
+            }
+            payload.append(id).append(',');
+        }
+        send(payload.substring(0, payload.length() - 1));
+    }
+
+    public void publishAll(String module) {
+        if (enabled) {
+            send(nodeId + SEPARATOR + module + SEPARATOR + ALL);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(POLL_MILLIS * 2L);
+        }
+    }
+
+    private void send(String payload) {
+        try {
+            jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+                ps.setString(1, CHANNEL);
+                ps.setString(2, payload);
+                return ps.execute();
+            });
+        } catch (DataAccessException e) {
+            log.warn("Unable to publish invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (connectedBefore) {
+                    log.info("Invalidation listener reconnected, resetting all subscribers");
+                    listeners.keySet().forEach(module -> dispatch(module, ALL));
+                }
+                connectedBefore = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener disconnected: {}", e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int first = payload.indexOf(SEPARATOR);
+        int second = payload.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            log.warn("Malformed invalidation {}", payload);
+            return;
+        }
+        if (payload.startsWith(nodeId + SEPARATOR)) {
+            return;
+        }
+        dispatch(payload.substring(first + 1, second), payload.substring(second + 1));
+    }
+
+    private void dispatch(String module, String ids) {
+        List<Listener> moduleListeners = listeners.getOrDefault(module, List.of());
+        for (Listener listener : moduleListeners) {
+            try {
+                if (ALL.equals(ids)) {
+                    listener.invalidateAll();
+                    continue;
+                }
+                List<Long> parsed = new ArrayList<>();
+                for (String id : ids.split(",")) {
+                    parsed.add(Long.parseLong(id));
+                }
+                parsed.forEach(listener::invalidate);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation of {} {} failed: {}", module, ids, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package spring.app.modules.commons.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Keeps an entity manager open for the whole request, as {@code spring.jpa.open-in-view} did, except
+ * on the streaming image uploads. An open-in-view entity manager holds its connection until the
+ * request ends, which would keep a pooled connection for as long as the body takes to arrive.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfiguration implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/sport-maps/v1/*/photo/stream/*");
+    }
+}
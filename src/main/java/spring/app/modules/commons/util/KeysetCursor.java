@@ -0,0 +1,50 @@
+package spring.app.modules.commons.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination, the sort key of the last row of a page encoded as base64url.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private KeysetCursor() {
+
+    }
+
+    public static String encode(LocalDateTime date, Long id) {
+        return encode(date + String.valueOf(SEPARATOR) + id);
+    }
+
+    public static String encode(Long id) {
+        return encode(String.valueOf(id));
+    }
+
+    /**
+     * @return position after which the next page starts, {@code date} is {@code null} for id-only cursors
+     */
+    public static Position decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return new Position(null, Long.parseLong(value));
+            }
+            return new Position(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor is not valid!");
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record Position(LocalDateTime date, Long id) {
+    }
+}
@@ -0,0 +1,220 @@
+package spring.app.modules.commons.util.convert;
+
+import spring.app.modules.commons.exception.NotFoundException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field mappings from one class to another, resolved once per class pair and cached.
+ * @see SimpleEntityConverter
+ */
+final class ConversionPlan {
+
+    private static final Map<Pair, ConversionPlan> PLANS = new ConcurrentHashMap<>();
+    private static final MethodType COPIER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle TO_ENUM;
+    private static final MethodHandle VALUE_OF;
+
+    static {
+        try {
+            TO_ENUM = MethodHandles.lookup().findStatic(ConversionPlan.class, "toEnum",
+                    MethodType.methodType(Enum.class, Class.class, String.class));
+            VALUE_OF = MethodHandles.lookup().findStatic(String.class, "valueOf",
+                    MethodType.methodType(String.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<?> from;
+    private final Class<?> to;
+    private final Mapping[] mappings;
+    private volatile GeneratedConverter generated;
+    private volatile boolean generationAttempted;
+
+    private ConversionPlan(Class<?> from, Class<?> to, List<Mapping> mappings) {
+        this.from = from;
+        this.to = to;
+        this.mappings = mappings.toArray(new Mapping[0]);
+    }
+
+    static ConversionPlan of(Class<?> from, Class<?> to) {
+        return PLANS.computeIfAbsent(new Pair(from, to), p -> build(p.from(), p.to()));
+    }
+
+    void apply(Object from, Object to, SimpleEntityConverter.Mode mode) {
+        if (mode == SimpleEntityConverter.Mode.GENERATED) {
+            GeneratedConverter converter = generated();
+            if (converter != null) {
+                converter.convert(from, to);
+                return;
+            }
+        }
+        for (Mapping mapping : mappings) {
+            mapping.apply(from, to);
+        }
+    }
+
+    private GeneratedConverter generated() {
+        if (!generationAttempted) {
+            synchronized (this) {
+                if (!generationAttempted) {
+                    generated = ConverterGenerator.generate(List.of(mappings), from, to);
+                    generationAttempted = true;
+                }
+            }
+        }
+        return generated;
+    }
+
+    private static ConversionPlan build(Class<?> fromType, Class<?> toType) {
+        List<Field> toFields = getAllFields(toType);
+        Map<String, Field> fromFields = new LinkedHashMap<>();
+        for (Field field : getAllFields(fromType)) {
+            fromFields.putIfAbsent(field.getName(), field);
+        }
+        if (toFields.isEmpty() || fromFields.isEmpty()) {
+            return new ConversionPlan(fromType, toType, List.of());
+        }
+        // Keyed by target field, a later rule for the same field overrides an earlier one
+        Map<Field, Mapping> mappings = new LinkedHashMap<>();
+        for (Field to : toFields) {
+            Dto annotation = to.getAnnotation(Dto.class);
+            if (annotation == null) {
+                continue;
+            }
+            String property = "".equals(annotation.property()) ? to.getName() : annotation.property();
+            Field from = fromFields.get(property);
+            if (from == null) {
+                continue;
+            }
+            if (to.getType().equals(from.getType())) {
+                put(mappings, Kind.COPY, from, to);
+            } else if (annotation.value().isSTRING()) {
+                put(mappings, Kind.FROM_STRING, from, to);
+            } else if (annotation.value().isENUM()) {
+                put(mappings, Kind.FROM_ENUM, from, to);
+            }
+        }
+        BaseDto baseDto = toType.getAnnotation(BaseDto.class);
+        if (baseDto != null) {
+            List<String> properties = Arrays.asList(baseDto.properties());
+            List<String> excludes = Arrays.asList(baseDto.exclude());
+            for (Field to : toFields) {
+                Field from = fromFields.get(to.getName());
+                if (from == null || (!properties.isEmpty() && !properties.contains(from.getName()))
+                        || excludes.contains(from.getName())) {
+                    continue;
+                }
+                if (to.getType().equals(from.getType())) {
+                    put(mappings, Kind.COPY, from, to);
+                } else if (to.getType().isEnum() && from.getType().isAssignableFrom(String.class)) {
+                    put(mappings, Kind.FROM_STRING, from, to);
+                } else if (to.getType().isAssignableFrom(String.class) && from.getType().isEnum()) {
+                    put(mappings, Kind.FROM_ENUM, from, to);
+                }
+            }
+        }
+        return new ConversionPlan(fromType, toType, new ArrayList<>(mappings.values()));
+    }
+
+    private static void put(Map<Field, Mapping> mappings, Kind kind, Field from, Field to) {
+        mappings.remove(to);
+        mappings.put(to, new Mapping(kind, from, to, copier(kind, from, to)));
+    }
+
+    /**
+     * Handle reading {@code from} off the source and writing it, converted by {@code kind}, to {@code to}
+     * of the target. Fields are accessed directly, accessors with logic are bypassed.
+     */
+    private static MethodHandle copier(Kind kind, Field from, Field to) {
+        MethodHandle value = getter(from);
+        switch (kind) {
+            case FROM_STRING -> value = MethodHandles.filterReturnValue(
+                    value.asType(value.type().changeReturnType(String.class)),
+                    MethodHandles.insertArguments(TO_ENUM, 0, to.getType()));
+            case FROM_ENUM -> value = MethodHandles.filterReturnValue(
+                    value.asType(value.type().changeReturnType(Object.class)), VALUE_OF);
+            default -> {
+            }
+        }
+        value = value.asType(value.type().changeReturnType(to.getType()));
+        // (target, source) -> void, then swapped to (source, target) -> void
+        MethodHandle copier = MethodHandles.collectArguments(setter(to), 1, value)
+                .asType(COPIER_TYPE);
+        return MethodHandles.permuteArguments(copier, COPIER_TYPE, 1, 0);
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access field " + field, e);
+        }
+    }
+
+    private static MethodHandle setter(Field field) {
+        try {
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access field " + field, e);
+        }
+    }
+
+    private static List<Field> getAllFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    static <E extends Enum<E>> E toEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new NotFoundException("Enum constant not found: " + name);
+        }
+    }
+
+    enum Kind {
+        COPY,
+        FROM_STRING,
+        FROM_ENUM
+    }
+
+    /**
+     * @param copier {@code (Object source, Object target) -> void}
+     */
+    record Mapping(Kind kind, Field from, Field to, MethodHandle copier) {
+
+        void apply(Object source, Object target) {
+            try {
+                copier.invokeExact(source, target);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to convert field " + to.getName(), e);
+            }
+        }
+    }
+
+    private record Pair(Class<?> from, Class<?> to) {
+    }
+}
@@ -0,0 +1,12 @@
+package spring.app.modules.commons.util.convert;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConverterConfiguration {
+
+    public ConverterConfiguration(@Value("${sport.maps.converter.mode:GENERATED}") SimpleEntityConverter.Mode mode) {
+        SimpleEntityConverter.setMode(mode);
+    }
+}
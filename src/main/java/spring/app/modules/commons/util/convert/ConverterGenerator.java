@@ -0,0 +1,107 @@
+package spring.app.modules.commons.util.convert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+/**
+ * Compiles a {@link ConversionPlan} into a hidden class holding the copier handle of every mapping in
+ * its own static final field. Constant handles are inlined by the JIT, so the conversion runs as a
+ * straight sequence of field reads and writes, the same ones the reflective path makes.
+ */
+@Slf4j
+final class ConverterGenerator {
+
+    private static final String CLASS_NAME = Type.getInternalName(GeneratedConverter.class) + "$Impl";
+    private static final String HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+    private static final String CONVERT_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE,
+            Type.getType(Object.class), Type.getType(Object.class));
+    private static final String CLASS_DATA_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class),
+            Type.getType(MethodHandles.Lookup.class), Type.getType(String.class), Type.getType(Class.class));
+
+    private ConverterGenerator() {
+
+    }
+
+    /**
+     * @return generated converter or {@code null} when the class can not be defined, the plan is then
+     * applied reflectively
+     */
+    static GeneratedConverter generate(List<ConversionPlan.Mapping> mappings, Class<?> from, Class<?> to) {
+        List<MethodHandle> copiers = mappings.stream().map(ConversionPlan.Mapping::copier).toList();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(bytecode(copiers.size()), copiers, true);
+            return (GeneratedConverter) lookup.lookupClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Unable to generate converter from {} to {}, converting reflectively", from.getName(), to.getName(), e);
+            return null;
+        }
+    }
+
+    private static byte[] bytecode(int size) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, CLASS_NAME, null,
+                Type.getInternalName(Object.class), new String[]{Type.getInternalName(GeneratedConverter.class)});
+        for (int i = 0; i < size; i++) {
+            cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, field(i), HANDLE_DESCRIPTOR,
+                    null, null).visitEnd();
+        }
+
+        MethodVisitor clinit = cw.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MethodHandles.class), "lookup",
+                Type.getMethodDescriptor(Type.getType(MethodHandles.Lookup.class)), false);
+        clinit.visitLdcInsn("_");
+        clinit.visitLdcInsn(Type.getType(List.class));
+        clinit.visitMethodInsn(Opcodes.INVOKESTATIC, Type.getInternalName(MethodHandles.class), "classData",
+                CLASS_DATA_DESCRIPTOR, false);
+        clinit.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(List.class));
+        clinit.visitVarInsn(Opcodes.ASTORE, 0);
+        for (int i = 0; i < size; i++) {
+            clinit.visitVarInsn(Opcodes.ALOAD, 0);
+            clinit.visitLdcInsn(i);
+            clinit.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(List.class), "get",
+                    Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE), true);
+            clinit.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(MethodHandle.class));
+            clinit.visitFieldInsn(Opcodes.PUTSTATIC, CLASS_NAME, field(i), HANDLE_DESCRIPTOR);
+        }
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitMaxs(0, 0);
+        clinit.visitEnd();
+
+        MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(Opcodes.ALOAD, 0);
+        init.visitMethodInsn(Opcodes.INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "convert", CONVERT_DESCRIPTOR, null, null);
+        mv.visitCode();
+        for (int i = 0; i < size; i++) {
+            mv.visitFieldInsn(Opcodes.GETSTATIC, CLASS_NAME, field(i), HANDLE_DESCRIPTOR);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact",
+                    CONVERT_DESCRIPTOR, false);
+        }
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static String field(int index) {
+        return "copier" + index;
+    }
+}
@@ -0,0 +1,8 @@
+package spring.app.modules.commons.util.convert;
+
+/**
+ * Converter compiled for one class pair by {@link ConverterGenerator}.
+ */
+interface GeneratedConverter {
+    void convert(Object from, Object to);
+}
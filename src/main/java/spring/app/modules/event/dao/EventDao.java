@@ -6,14 +6,22 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.event.domain.Event;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventDao extends JpaRepository<Event, Long> {
-    @Query(value = "SELECT * FROM public.events", nativeQuery = true)
+    @Query("SELECT e FROM Event e JOIN FETCH e.createdBy ORDER BY e.idEvent")
     List<Event> getAllEvents(Pageable pageable);
 
+    @Query("SELECT e FROM Event e JOIN FETCH e.createdBy ORDER BY e.eventDate DESC, e.idEvent DESC")
+    List<Event> scrollEvents(Pageable pageable);
+
+    @Query("SELECT e FROM Event e JOIN FETCH e.createdBy" +
+            " WHERE (e.eventDate, e.idEvent) < (?1, ?2) ORDER BY e.eventDate DESC, e.idEvent DESC")
+    List<Event> scrollEventsAfter(LocalDateTime date, Long id, Pageable pageable);
+
     @Query(value = "SELECT * FROM public.events" +
             " WHERE name=?1", nativeQuery = true)
     Optional<Event> getEventByName(String name);
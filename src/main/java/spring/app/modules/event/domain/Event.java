@@ -15,7 +15,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = @Index(name = "idx_events_event_date_id_event", columnList = "event_date, id_event"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
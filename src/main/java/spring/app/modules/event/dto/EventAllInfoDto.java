@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.jackson.Jacksonized;
 import spring.app.modules.comments.event.domain.EventComment;
+import spring.app.modules.commons.dto.ImageDto;
 
 import java.util.List;
 
@@ -18,7 +19,8 @@ public class EventAllInfoDto {
     private String eventDate;
     private String desc;
     private String sportType;
-    private byte[] image;
+    private String imageUrl;
+    private List<ImageDto> images;
     private String emailUser;
     private List<EventComment> eventCommentList;
 }
@@ -1,10 +1,13 @@
 package spring.app.modules.event.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.event.dto.EventAllInfoDto;
 import spring.app.modules.event.dto.EventCreateDto;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface EventService {
@@ -18,7 +21,13 @@ public interface EventService {
 
     List<EventAllInfoDto> getAllEvents(int pageNumber);
 
+    ScrollDto<EventAllInfoDto> scrollEvents(String cursor);
+
     String uploadImage(MultipartFile file, Long id) throws IOException;
 
+    String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException;
+
+    StreamingResponseBody downloadImages(Long id);
+
     double getTotalPagesCount();
 }
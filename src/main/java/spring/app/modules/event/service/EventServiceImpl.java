@@ -1,58 +1,63 @@
 package spring.app.modules.event.service;
 
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.comments.event.dao.EventCommentDao;
 import spring.app.modules.comments.event.domain.EventComment;
 import spring.app.modules.commons.domain.ImageData;
+import spring.app.modules.commons.dto.ImageDto;
+import spring.app.modules.commons.dto.ScrollDto;
+import spring.app.modules.commons.service.DtoCache;
+import spring.app.modules.commons.service.EntityCounter;
+import spring.app.modules.commons.util.KeysetCursor;
 import spring.app.modules.commons.domain.SportType;
 import spring.app.modules.event.domain.Event;
 import spring.app.modules.event.dto.EventAllInfoDto;
 import spring.app.modules.event.dto.EventCreateDto;
-import spring.app.modules.commons.exception.AlreadyExistException;
 import spring.app.modules.commons.exception.NotFoundException;
 import spring.app.modules.event.dao.EventDao;
 import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.service.ImageDataService;
 import spring.app.modules.security.dao.UserDao;
 import spring.app.modules.security.domain.User;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class EventServiceImpl implements EventService, EventGeneralHandler {
+    private static final String COUNTER = "events";
     private final int PAGE_ELEMENTS_AMOUNT = 15;
     private final ImageDataDao imageDataDao;
-    private final String FOLDER_PATH;
+    private final ImageDataService imageDataService;
     private final EventDao eventDao;
     private final EventCommentDao eventCommentDao;
     private final UserDao userDao;
+    private final EntityCounter entityCounter;
+    private final DtoCache dtoCache;
 
-    public EventServiceImpl(EventDao eventDao, ImageDataDao imageDataDao, EventCommentDao eventCommentDao, UserDao userDao) throws URISyntaxException {
+    public EventServiceImpl(EventDao eventDao, ImageDataDao imageDataDao, ImageDataService imageDataService, EventCommentDao eventCommentDao, UserDao userDao, EntityCounter entityCounter, DtoCache dtoCache) {
         this.eventDao = eventDao;
         this.eventCommentDao = eventCommentDao;
         this.imageDataDao = imageDataDao;
-        this.FOLDER_PATH = getFOLDER_PATH();
+        this.imageDataService = imageDataService;
         this.userDao = userDao;
-    }
-
-    private String getFOLDER_PATH() throws URISyntaxException {
-        URL res = EventServiceImpl.class.getClassLoader().getResource("images");
-        assert res != null;
-        File file = Paths.get(res.toURI()).toFile();
-        return file.getAbsolutePath();
+        this.entityCounter = entityCounter;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -63,6 +68,7 @@ public class EventServiceImpl implements EventService, EventGeneralHandler {
         SportType sportType = getSportType(eventDto);
         Event event = convertToEntity(eventDto, sportType, user, new Event());
         eventDao.save(event);
+        entityCounter.incrementAfterCommit(COUNTER);
         return HttpStatus.CREATED.value();
     }
 
@@ -73,19 +79,27 @@ public class EventServiceImpl implements EventService, EventGeneralHandler {
         SportType sportType = getSportType(eventDto);
         Event event = convertToEntity(eventDto, sportType, user, new Event());
         eventDao.save(updateContent(event, getById(id)));
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, id);
         return HttpStatus.CREATED.value();
     }
 
     @Override
     public EventAllInfoDto getEventById(Long id) {
-        Event byId = getById(id);
-        return allInfoDto(byId);
+        return dtoCache.get(DtoCache.EVENTS, id, () -> {
+            Event byId = getById(id);
+            // Comments reference the entity, its images are serialized after the session is gone
+            Hibernate.initialize(byId.getImageDataList());
+            return allInfoDto(byId);
+        });
     }
 
     @Override
     public void deleteById(Long id) {
         getById(id);
+        imageDataService.releaseAfterCommit(imageDataDao.findAllByEventId(id));
         eventDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, id);
+        entityCounter.decrementAfterCommit(COUNTER);
     }
 
     @Override
@@ -98,27 +112,58 @@ public class EventServiceImpl implements EventService, EventGeneralHandler {
     }
 
     @Override
+    public ScrollDto<EventAllInfoDto> scrollEvents(String cursor) {
+        PageRequest limit = PageRequest.of(0, PAGE_ELEMENTS_AMOUNT);
+        List<Event> events;
+        if (cursor == null) {
+            events = eventDao.scrollEvents(limit);
+        } else {
+            KeysetCursor.Position position = KeysetCursor.decode(cursor);
+            if (position.date() == null) {
+                throw new IllegalArgumentException("Cursor is not valid!");
+            }
+            events = eventDao.scrollEventsAfter(position.date(), position.id(), limit);
+        }
+        String nextCursor = null;
+        if (events.size() == PAGE_ELEMENTS_AMOUNT) {
+            Event last = events.get(events.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getEventDate(), last.getIdEvent());
+        }
+        return ScrollDto.<EventAllInfoDto>builder()
+                .items(listToDto(events))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String uploadImage(MultipartFile file, Long id) throws IOException {
-        String filePath = FOLDER_PATH + "\\" + file.getOriginalFilename();
-        validatePresentImage(file.getOriginalFilename(), filePath);
-        Event byId = getById(id);
+        try (InputStream content = file.getInputStream()) {
+            return uploadImage(content, file.getSize(), file.getOriginalFilename(), id);
+        }
+    }
 
-        imageDataDao.save(ImageData
-                .builder()
-                .name(file.getOriginalFilename())
-                .type(file.getContentType())
-                .filePath(filePath)
-                .event(byId)
-                .build()
-        );
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException {
+        Event byId = getById(id);
+        imageDataService.validateUpload(imageDataDao.countByEventId(id), contentLength);
+        imageDataService.attachImage(content, name, ImageData.builder().event(byId).build(),
+                hash -> imageDataDao.existsByHashAndEventId(hash, id));
+        dtoCache.evictAfterCommit(DtoCache.EVENTS, id);
+        return "Image uploaded successfully " + name;
+    }
 
-        file.transferTo(new File(filePath));
-        return "Image uploaded successfully " + file.getOriginalFilename();
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody downloadImages(Long id) {
+        getById(id);
+        return imageDataService.zipImages(imageDataDao.findAllByEventId(id));
     }
 
     @Override
     public double getTotalPagesCount() {
-        long count = eventDao.getAllEventCount();
+        long count = entityCounter.count(COUNTER, eventDao::getAllEventCount);
         double pagesNum = (double) count / PAGE_ELEMENTS_AMOUNT;
         return Math.ceil(pagesNum);
     }
@@ -174,13 +219,6 @@ public class EventServiceImpl implements EventService, EventGeneralHandler {
         }
     }
 
-    private void validatePresentImage(String name, String filePath) {
-        Optional<ImageData> result = imageDataDao.findByNameAndFilePath(name, filePath);
-        if (result.isPresent()) {
-            throw new AlreadyExistException("Image already exists!");
-        }
-    }
-
     private Event updateContent(Event event, Event resultEvent) {
         resultEvent.setDescription(event.getDescription());
         resultEvent.setName(event.getName());
@@ -206,38 +244,38 @@ public class EventServiceImpl implements EventService, EventGeneralHandler {
         return event;
     }
 
-    private byte[] fetchImage(Long id) throws IOException {
-        List<ImageData> allByEventId = imageDataDao.findAllByEventId(id);
-        if (allByEventId.isEmpty()) {
-            return null;
-        }
-        ImageData singleImage = allByEventId.stream().findFirst().orElseThrow();
-        String imagePath = singleImage.getFilePath();
-        return Files.readAllBytes(new File(imagePath).toPath());
-    }
-
-    private List<EventComment> fetchEventComments(Long id) {
-        List<EventComment> comments = eventCommentDao.findAllByEventId(id);
-        if (comments.isEmpty()) {
-            return null;
+    /**
+     * Comments of all events with their authors in one query, events without comments are absent.
+     */
+    private Map<Long, List<EventComment>> fetchEventComments(List<Long> ids) {
+        Map<Long, List<EventComment>> comments = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (EventComment comment : eventCommentDao.findAllByEventIds(ids)) {
+                comments.computeIfAbsent(comment.getEvent().getIdEvent(), id -> new ArrayList<>()).add(comment);
+            }
         }
         return comments;
     }
 
     @Override
     public List<EventAllInfoDto> listToDto(List<Event> events) {
-        return EventGeneralHandler.super.listToDto(events);
+        List<Long> ids = events.stream().map(Event::getIdEvent).toList();
+        Map<Long, List<ImageDto>> images = imageDataService.findImagesByOwners(ids, imageDataDao::findDescriptorsByEventIds);
+        Map<Long, List<EventComment>> comments = fetchEventComments(ids);
+        List<EventAllInfoDto> result = new ArrayList<>(events.size());
+        for (Event event : events) {
+            EventAllInfoDto eventAllInfoDto = EventGeneralHandler.super.allInfoDto(event);
+            List<ImageDto> eventImages = images.getOrDefault(event.getIdEvent(), List.of());
+            eventAllInfoDto.setImages(eventImages);
+            eventAllInfoDto.setImageUrl(eventImages.isEmpty() ? null : eventImages.get(0).getUrl());
+            eventAllInfoDto.setEventCommentList(comments.get(event.getIdEvent()));
+            result.add(eventAllInfoDto);
+        }
+        return result;
     }
 
     @Override
     public EventAllInfoDto allInfoDto(Event event) {
-        EventAllInfoDto eventAllInfoDto = EventGeneralHandler.super.allInfoDto(event);
-        try {
-            eventAllInfoDto.setImage(fetchImage(event.getIdEvent()));
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Error while reading from image path! " + event.getIdEvent());
-        }
-        eventAllInfoDto.setEventCommentList(fetchEventComments(event.getIdEvent()));
-        return eventAllInfoDto;
+        return listToDto(List.of(event)).get(0);
     }
 }
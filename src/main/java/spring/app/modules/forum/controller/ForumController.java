@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.forum.dto.ForumAllInfoDto;
 import spring.app.modules.forum.dto.ForumCreateDto;
 import spring.app.modules.forum.service.ForumService;
@@ -28,6 +29,15 @@ public class ForumController {
         return forumService.getAllForums(page_num);
     }
 
+    /**
+     * Keyset page, newest first. Pass the returned {@code nextCursor} to get the following page.
+     */
+    @GetMapping("/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    public ScrollDto<ForumAllInfoDto> scrollForums(@RequestParam(value = "cursor", required = false) String cursor) {
+        return forumService.scrollForums(cursor);
+    }
+
     @GetMapping("/byId/{id}")
     @ResponseStatus(HttpStatus.OK)
     public ForumAllInfoDto getForumById(@PathVariable("id") Long id) {
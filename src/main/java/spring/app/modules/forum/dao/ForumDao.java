@@ -6,14 +6,22 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.forum.domain.Forum;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ForumDao extends JpaRepository<Forum, Long> {
-    @Query(value = "SELECT * FROM public.forums", nativeQuery = true)
+    @Query(value = "SELECT * FROM public.forums ORDER BY id_forum", nativeQuery = true)
     List<Forum> getAllForums(Pageable pageable);
 
+    @Query("SELECT f FROM Forum f JOIN FETCH f.createdBy ORDER BY f.createDate DESC, f.idForum DESC")
+    List<Forum> scrollForums(Pageable pageable);
+
+    @Query("SELECT f FROM Forum f JOIN FETCH f.createdBy" +
+            " WHERE (f.createDate, f.idForum) < (?1, ?2) ORDER BY f.createDate DESC, f.idForum DESC")
+    List<Forum> scrollForumsAfter(LocalDateTime date, Long id, Pageable pageable);
+
     @Query(value = "SELECT * FROM public.forums" +
             " WHERE name=?1", nativeQuery = true)
     Optional<Forum> getForumByName(String name);
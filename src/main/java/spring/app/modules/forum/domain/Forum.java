@@ -10,7 +10,7 @@ import spring.app.modules.security.domain.User;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "forums")
+@Table(name = "forums", indexes = @Index(name = "idx_forums_publish_date_id_forum", columnList = "publish_date, id_forum"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,5 +1,6 @@
 package spring.app.modules.forum.service;
 
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.forum.dto.ForumAllInfoDto;
 import spring.app.modules.forum.dto.ForumCreateDto;
 
@@ -16,5 +17,7 @@ public interface ForumService {
 
     List<ForumAllInfoDto> getAllForums(int pageNumber);
 
+    ScrollDto<ForumAllInfoDto> scrollForums(String cursor);
+
     double getTotalPagesCount();
 }
@@ -1,12 +1,17 @@
 package spring.app.modules.forum.service;
 
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import spring.app.modules.comments.forum.dao.ForumCommentDao;
 import spring.app.modules.comments.forum.domain.ForumComment;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.commons.exception.NotFoundException;
+import spring.app.modules.commons.service.DtoCache;
+import spring.app.modules.commons.service.EntityCounter;
+import spring.app.modules.commons.util.KeysetCursor;
 import spring.app.modules.forum.dao.ForumDao;
 import spring.app.modules.forum.domain.Forum;
 import spring.app.modules.forum.dto.ForumAllInfoDto;
@@ -22,15 +27,20 @@ import java.util.Optional;
 @Service
 @Transactional
 public class ForumServiceImpl implements ForumService, ForumGeneralHandler {
+    private static final String COUNTER = "forums";
     private final int PAGE_ELEMENTS_AMOUNT = 15;
     private final ForumDao forumDao;
     private final ForumCommentDao forumCommentDao;
     private final UserDao userDao;
+    private final EntityCounter entityCounter;
+    private final DtoCache dtoCache;
 
-    public ForumServiceImpl(ForumDao forumDao, ForumCommentDao forumCommentDao, UserDao userDao) {
+    public ForumServiceImpl(ForumDao forumDao, ForumCommentDao forumCommentDao, UserDao userDao, EntityCounter entityCounter, DtoCache dtoCache) {
         this.forumDao = forumDao;
         this.forumCommentDao = forumCommentDao;
         this.userDao = userDao;
+        this.entityCounter = entityCounter;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -40,6 +50,7 @@ public class ForumServiceImpl implements ForumService, ForumGeneralHandler {
         User user = getUser(forumCreateDto);
         Forum forum = convertToEntity(forumCreateDto, user,new Forum());
         forumDao.save(forum);
+        entityCounter.incrementAfterCommit(COUNTER);
         return HttpStatus.CREATED.value();
     }
 
@@ -49,19 +60,28 @@ public class ForumServiceImpl implements ForumService, ForumGeneralHandler {
         User user = getUser(forumCreateDto);
         Forum forum = convertToEntity(forumCreateDto, user, new Forum());
         forumDao.save(updateContent(forum, getById(id)));
+        dtoCache.evictAfterCommit(DtoCache.FORUMS, id);
         return HttpStatus.CREATED.value();
     }
 
     @Override
     public ForumAllInfoDto getForumById(Long id) {
-        Forum byId = getById(id);
-        return allInfoDto(byId);
+        return dtoCache.get(DtoCache.FORUMS, id, () -> {
+            ForumAllInfoDto forumAllInfoDto = allInfoDto(getById(id));
+            // Comment authors are serialized after the session is gone
+            if (forumAllInfoDto.getCommentList() != null) {
+                forumAllInfoDto.getCommentList().forEach(comment -> Hibernate.initialize(comment.getCreatedBy()));
+            }
+            return forumAllInfoDto;
+        });
     }
 
     @Override
     public void deleteById(Long id) {
         getById(id);
         forumDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.FORUMS, id);
+        entityCounter.decrementAfterCommit(COUNTER);
     }
 
     @Override
@@ -73,9 +93,33 @@ public class ForumServiceImpl implements ForumService, ForumGeneralHandler {
         return listToDto(forums);
     }
 
+    @Override
+    public ScrollDto<ForumAllInfoDto> scrollForums(String cursor) {
+        PageRequest limit = PageRequest.of(0, PAGE_ELEMENTS_AMOUNT);
+        List<Forum> forums;
+        if (cursor == null) {
+            forums = forumDao.scrollForums(limit);
+        } else {
+            KeysetCursor.Position position = KeysetCursor.decode(cursor);
+            if (position.date() == null) {
+                throw new IllegalArgumentException("Cursor is not valid!");
+            }
+            forums = forumDao.scrollForumsAfter(position.date(), position.id(), limit);
+        }
+        String nextCursor = null;
+        if (forums.size() == PAGE_ELEMENTS_AMOUNT) {
+            Forum last = forums.get(forums.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreateDate(), last.getIdForum());
+        }
+        return ScrollDto.<ForumAllInfoDto>builder()
+                .items(listToDto(forums))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     public double getTotalPagesCount() {
-        long count = forumDao.getAllForumCount();
+        long count = entityCounter.count(COUNTER, forumDao::getAllForumCount);
         double pagesNum = (double) count / PAGE_ELEMENTS_AMOUNT;
         return Math.ceil(pagesNum);
     }
@@ -1,8 +1,12 @@
 package spring.app.modules.news.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.news.dto.NewAllInfoDto;
 import spring.app.modules.news.dto.NewCreateDto;
 import spring.app.modules.news.service.NewService;
@@ -40,6 +46,15 @@ public class NewController {
         return newService.getAllNews(page_num);
     }
 
+    /**
+     * Keyset page, newest first. Pass the returned {@code nextCursor} to get the following page.
+     */
+    @GetMapping("/scroll")
+    @ResponseStatus(HttpStatus.OK)
+    public ScrollDto<NewAllInfoDto> scrollNews(@RequestParam(value = "cursor", required = false) String cursor) {
+        return newService.scrollNews(cursor);
+    }
+
     @GetMapping("/byId/{id}")
     @ResponseStatus(HttpStatus.OK)
     public NewAllInfoDto getNewById(@PathVariable("id") Long id) {
@@ -67,6 +82,27 @@ public class NewController {
         return ResponseEntity.ok(uploadImage);
     }
 
+    /**
+     * Takes the image as the raw request body, the target and limits are checked before it is read.
+     */
+    @PostMapping("/photo/stream/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<?> uploadImageStream(@PathVariable("id") Long id,
+                                               @RequestParam(value = "name", required = false) String name,
+                                               HttpServletRequest request) throws IOException {
+        String uploadImage = newService.uploadImage(request.getInputStream(), request.getContentLengthLong(), name, id);
+        return ResponseEntity.ok(uploadImage);
+    }
+
+    @GetMapping("/photo/download/{id}")
+    public ResponseEntity<StreamingResponseBody> downloadImages(@PathVariable("id") Long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("news-" + id + "-images.zip").build().toString())
+                .body(newService.downloadImages(id));
+    }
+
     @GetMapping(value = "/count")
     @ResponseStatus(HttpStatus.OK)
     public double getTotalPagesCount() {
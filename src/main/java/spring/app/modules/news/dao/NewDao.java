@@ -6,14 +6,22 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.news.domain.New;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NewDao extends JpaRepository<New, Long> {
-    @Query(value = "SELECT * FROM public.news", nativeQuery = true)
+    @Query("SELECT n FROM New n JOIN FETCH n.createdBy ORDER BY n.idNew")
     List<New> getAllNews(Pageable pageable);
 
+    @Query("SELECT n FROM New n JOIN FETCH n.createdBy ORDER BY n.publishDate DESC, n.idNew DESC")
+    List<New> scrollNews(Pageable pageable);
+
+    @Query("SELECT n FROM New n JOIN FETCH n.createdBy" +
+            " WHERE (n.publishDate, n.idNew) < (?1, ?2) ORDER BY n.publishDate DESC, n.idNew DESC")
+    List<New> scrollNewsAfter(LocalDateTime date, Long id, Pageable pageable);
+
     @Query(value = "SELECT * FROM public.news" +
             " WHERE name=?1", nativeQuery = true)
     Optional<New> getNewByName(String name);
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "news")
+@Table(name = "news", indexes = @Index(name = "idx_news_publish_date_id_new", columnList = "publish_date, id_new"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.jackson.Jacksonized;
 import spring.app.modules.comments.news.domain.NewsComment;
+import spring.app.modules.commons.dto.ImageDto;
 
 import java.util.List;
 
@@ -17,7 +18,8 @@ public class NewAllInfoDto {
     private String name;
     private String publishDate;
     private String desc;
-    private byte[] image;
+    private String imageUrl;
+    private List<ImageDto> images;
     private String emailUser;
     private List<NewsComment> commentList;
 }
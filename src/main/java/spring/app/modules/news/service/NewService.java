@@ -1,10 +1,13 @@
 package spring.app.modules.news.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.news.dto.NewAllInfoDto;
 import spring.app.modules.news.dto.NewCreateDto;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface NewService {
@@ -18,7 +21,13 @@ public interface NewService {
 
     List<NewAllInfoDto> getAllNews(int pageNumber);
 
+    ScrollDto<NewAllInfoDto> scrollNews(String cursor);
+
     String uploadImage(MultipartFile file, Long id) throws IOException;
 
+    String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException;
+
+    StreamingResponseBody downloadImages(Long id);
+
     double getTotalPagesCount();
 }
@@ -1,16 +1,24 @@
 package spring.app.modules.news.service;
 
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import spring.app.modules.comments.news.dao.NewsCommentDao;
 import spring.app.modules.comments.news.domain.NewsComment;
 import spring.app.modules.commons.domain.ImageData;
-import spring.app.modules.commons.exception.AlreadyExistException;
+import spring.app.modules.commons.dto.ImageDto;
+import spring.app.modules.commons.dto.ScrollDto;
 import spring.app.modules.commons.exception.NotFoundException;
 import spring.app.modules.commons.repository.ImageDataDao;
+import spring.app.modules.commons.service.DtoCache;
+import spring.app.modules.commons.service.EntityCounter;
+import spring.app.modules.commons.service.ImageDataService;
+import spring.app.modules.commons.util.KeysetCursor;
 import spring.app.modules.news.dao.NewDao;
 import spring.app.modules.news.domain.New;
 import spring.app.modules.news.dto.NewAllInfoDto;
@@ -18,40 +26,37 @@ import spring.app.modules.news.dto.NewCreateDto;
 import spring.app.modules.security.dao.UserDao;
 import spring.app.modules.security.domain.User;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class NewServiceImpl implements NewService, NewGeneralHandler {
+    private static final String COUNTER = "news";
     private final int PAGE_ELEMENTS_AMOUNT = 15;
     private final NewDao newDao;
     private final ImageDataDao imageDataDao;
-    private final String FOLDER_PATH;
+    private final ImageDataService imageDataService;
     private final NewsCommentDao newsCommentDao;
     private final UserDao userDao;
+    private final EntityCounter entityCounter;
+    private final DtoCache dtoCache;
 
-    public NewServiceImpl(NewDao newDao, ImageDataDao imageDataDao, NewsCommentDao newsCommentDao, UserDao userDao) throws URISyntaxException {
+    public NewServiceImpl(NewDao newDao, ImageDataDao imageDataDao, ImageDataService imageDataService, NewsCommentDao newsCommentDao, UserDao userDao, EntityCounter entityCounter, DtoCache dtoCache) {
         this.newDao = newDao;
         this.imageDataDao = imageDataDao;
-        this.FOLDER_PATH = getFOLDER_PATH();
+        this.imageDataService = imageDataService;
         this.newsCommentDao = newsCommentDao;
         this.userDao = userDao;
-    }
-
-    private String getFOLDER_PATH() throws URISyntaxException {
-        URL res = NewServiceImpl.class.getClassLoader().getResource("images");
-        assert res != null;
-        File file = Paths.get(res.toURI()).toFile();
-        return file.getAbsolutePath();
+        this.entityCounter = entityCounter;
+        this.dtoCache = dtoCache;
     }
 
     @Override
@@ -61,6 +66,7 @@ public class NewServiceImpl implements NewService, NewGeneralHandler {
         User user = getUser(newDto);
         New aNew = convertToEntity(newDto, user, new New());
         newDao.save(aNew);
+        entityCounter.incrementAfterCommit(COUNTER);
         return HttpStatus.CREATED.value();
     }
 
@@ -70,19 +76,27 @@ public class NewServiceImpl implements NewService, NewGeneralHandler {
         User user = getUser(newDto);
         New aNew = convertToEntity(newDto, user, new New());
         newDao.save(updateContent(aNew, getById(id)));
+        dtoCache.evictAfterCommit(DtoCache.NEWS, id);
         return HttpStatus.CREATED.value();
     }
 
     @Override
     public NewAllInfoDto getNewById(Long id) {
-        New byId = getById(id);
-        return allInfoDto(byId);
+        return dtoCache.get(DtoCache.NEWS, id, () -> {
+            New byId = getById(id);
+            // Comments reference the entity, its images are serialized after the session is gone
+            Hibernate.initialize(byId.getImageDataList());
+            return allInfoDto(byId);
+        });
     }
 
     @Override
     public void deleteById(Long id) {
         getById(id);
+        imageDataService.releaseAfterCommit(imageDataDao.findAllByANewId(id));
         newDao.deleteById(id);
+        dtoCache.evictAfterCommit(DtoCache.NEWS, id);
+        entityCounter.decrementAfterCommit(COUNTER);
     }
 
     @Override
@@ -95,27 +109,58 @@ public class NewServiceImpl implements NewService, NewGeneralHandler {
     }
 
     @Override
+    public ScrollDto<NewAllInfoDto> scrollNews(String cursor) {
+        PageRequest limit = PageRequest.of(0, PAGE_ELEMENTS_AMOUNT);
+        List<New> news;
+        if (cursor == null) {
+            news = newDao.scrollNews(limit);
+        } else {
+            KeysetCursor.Position position = KeysetCursor.decode(cursor);
+            if (position.date() == null) {
+                throw new IllegalArgumentException("Cursor is not valid!");
+            }
+            news = newDao.scrollNewsAfter(position.date(), position.id(), limit);
+        }
+        String nextCursor = null;
+        if (news.size() == PAGE_ELEMENTS_AMOUNT) {
+            New last = news.get(news.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getPublishDate(), last.getIdNew());
+        }
+        return ScrollDto.<NewAllInfoDto>builder()
+                .items(listToDto(news))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String uploadImage(MultipartFile file, Long id) throws IOException {
-        String filePath = FOLDER_PATH + "\\" + file.getOriginalFilename();
-        validatePresentImage(file.getOriginalFilename(), filePath);
-        New byId = getById(id);
+        try (InputStream content = file.getInputStream()) {
+            return uploadImage(content, file.getSize(), file.getOriginalFilename(), id);
+        }
+    }
 
-        imageDataDao.save(ImageData
-                .builder()
-                .name(file.getOriginalFilename())
-                .type(file.getContentType())
-                .filePath(filePath)
-                .aNew(byId)
-                .build()
-        );
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String uploadImage(InputStream content, long contentLength, String name, Long id) throws IOException {
+        New byId = getById(id);
+        imageDataService.validateUpload(imageDataDao.countByANewId(id), contentLength);
+        imageDataService.attachImage(content, name, ImageData.builder().aNew(byId).build(),
+                hash -> imageDataDao.existsByHashAndANewId(hash, id));
+        dtoCache.evictAfterCommit(DtoCache.NEWS, id);
+        return "Image uploaded successfully " + name;
+    }
 
-        file.transferTo(new File(filePath));
-        return "Image uploaded successfully " + file.getOriginalFilename();
+    @Override
+    @Transactional(readOnly = true)
+    public StreamingResponseBody downloadImages(Long id) {
+        getById(id);
+        return imageDataService.zipImages(imageDataDao.findAllByANewId(id));
     }
 
     @Override
     public double getTotalPagesCount() {
-        long count = newDao.getAllNewCount();
+        long count = entityCounter.count(COUNTER, newDao::getAllNewCount);
         double pagesNum = (double) count / PAGE_ELEMENTS_AMOUNT;
         return Math.ceil(pagesNum);
     }
@@ -149,13 +194,6 @@ public class NewServiceImpl implements NewService, NewGeneralHandler {
         }
     }
 
-    private void validatePresentImage(String name, String filePath) {
-        Optional<ImageData> result = imageDataDao.findByNameAndFilePath(name, filePath);
-        if (result.isPresent()) {
-            throw new AlreadyExistException("Image already exists!");
-        }
-    }
-
     private New updateContent(New aNew, New resultNew) {
         resultNew.setName(aNew.getName());
         resultNew.setPublishDate(aNew.getPublishDate());
@@ -179,38 +217,38 @@ public class NewServiceImpl implements NewService, NewGeneralHandler {
         return aNew;
     }
 
-    private byte[] fetchImage(Long id) throws IOException {
-        List<ImageData> allByNewId = imageDataDao.findAllByANewId(id);
-        if (allByNewId.isEmpty()) {
-            return null;
-        }
-        ImageData singleImage = allByNewId.stream().findFirst().orElseThrow();
-        String imagePath = singleImage.getFilePath();
-        return Files.readAllBytes(new File(imagePath).toPath());
-    }
-
-    private List<NewsComment> fetchNewsComments(Long id) {
-        List<NewsComment> comments = newsCommentDao.findAllByNewsId(id);
-        if (comments.isEmpty()) {
-            return null;
+    /**
+     * Comments of all news with their authors in one query, news without comments are absent.
+     */
+    private Map<Long, List<NewsComment>> fetchNewsComments(List<Long> ids) {
+        Map<Long, List<NewsComment>> comments = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (NewsComment comment : newsCommentDao.findAllByNewsIds(ids)) {
+                comments.computeIfAbsent(comment.getNews().getIdNew(), id -> new ArrayList<>()).add(comment);
+            }
         }
         return comments;
     }
 
     @Override
     public List<NewAllInfoDto> listToDto(List<New> news) {
-        return NewGeneralHandler.super.listToDto(news);
+        List<Long> ids = news.stream().map(New::getIdNew).toList();
+        Map<Long, List<ImageDto>> images = imageDataService.findImagesByOwners(ids, imageDataDao::findDescriptorsByANewIds);
+        Map<Long, List<NewsComment>> comments = fetchNewsComments(ids);
+        List<NewAllInfoDto> result = new ArrayList<>(news.size());
+        for (New aNew : news) {
+            NewAllInfoDto newAllInfoDto = NewGeneralHandler.super.allInfoDto(aNew);
+            List<ImageDto> newImages = images.getOrDefault(aNew.getIdNew(), List.of());
+            newAllInfoDto.setImages(newImages);
+            newAllInfoDto.setImageUrl(newImages.isEmpty() ? null : newImages.get(0).getUrl());
+            newAllInfoDto.setCommentList(comments.get(aNew.getIdNew()));
+            result.add(newAllInfoDto);
+        }
+        return result;
     }
 
     @Override
     public NewAllInfoDto allInfoDto(New aNew) {
-        NewAllInfoDto newAllInfoDto = NewGeneralHandler.super.allInfoDto(aNew);
-        try {
-            newAllInfoDto.setImage(fetchImage(aNew.getIdNew()));
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Error while reading from image path! " + aNew.getIdNew());
-        }
-        newAllInfoDto.setCommentList(fetchNewsComments(aNew.getIdNew()));
-        return newAllInfoDto;
+        return listToDto(List.of(aNew)).get(0);
     }
 }
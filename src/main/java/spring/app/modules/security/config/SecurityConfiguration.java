@@ -53,6 +53,7 @@ public class SecurityConfiguration {
                 .requestMatchers(SecurityDefinedConst.ALL).permitAll()
                 .requestMatchers(HttpMethod.GET, SecurityDefinedConst.GET).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, SecurityDefinedConst.OPTIONS).permitAll()
+                .requestMatchers(HttpMethod.GET, SecurityDefinedConst.ADMIN_GET).hasAuthority("ADMIN")
                 .requestMatchers(HttpMethod.POST, SecurityDefinedConst.POST).hasAnyAuthority("ADMIN")
                 .requestMatchers(HttpMethod.PUT, SecurityDefinedConst.PUT).hasAuthority("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, SecurityDefinedConst.DELETE).hasAuthority("ADMIN")
@@ -11,7 +11,8 @@ public final class SecurityDefinedConst {
 
     public static final String[] ALL = {
             "/sport-maps/v1/auth/**",
-            "/sport-maps/v1/chat/**"
+            "/sport-maps/v1/chat/**",
+            "/sport-maps/v1/images/**"
     };
 
     public static final String[] GET = {
@@ -24,14 +25,24 @@ public final class SecurityDefinedConst {
             "/swagger-ui/index.html/**"
     };
 
+    public static final String[] ADMIN_GET = {
+            "/sport-maps/v1/dto-cache/stats",
+            "/sport-maps/v1/image-cache/stats",
+            "/sport-maps/v1/markers/geocode-cache/stats"
+    };
+
     public static final String[] POST = {
             "/sport-maps/v1/news/new/**",
             "/sport-maps/v1/news/photo/upload/**",
+            "/sport-maps/v1/news/photo/stream/**",
             "/sport-maps/v1/events/new/**",
             "/sport-maps/v1/events/photo/upload/**",
+            "/sport-maps/v1/events/photo/stream/**",
             "/sport-maps/v1/coaches/new/**",
             "/sport-maps/v1/coaches/photo/upload/**",
-            "/sport-maps/v1/markers/add"
+            "/sport-maps/v1/coaches/photo/stream/**",
+            "/sport-maps/v1/markers/add",
+            "/sport-maps/v1/markers/import"
     };
 
     public static final String[] PUT = {
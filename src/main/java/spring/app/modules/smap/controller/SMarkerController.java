@@ -2,18 +2,35 @@ package spring.app.modules.smap.controller;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import spring.app.modules.smap.dto.GeocodeCacheStatsDto;
+import spring.app.modules.smap.dto.SMarkerChangesDto;
+import spring.app.modules.smap.dto.SMarkerClusterDto;
 import spring.app.modules.smap.dto.SMarkerDto;
+import spring.app.modules.smap.dto.SMarkerImportResultDto;
+import spring.app.modules.smap.dto.SMarkerNearestDto;
+import spring.app.modules.smap.dto.SMarkerSnapshotDto;
+import spring.app.modules.smap.index.BoundingBox;
 import spring.app.modules.smap.service.SMarkerServiceImpl;
+import spring.app.modules.smap.tile.MarkerTileCache;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/sport-maps/v1/markers")
 @AllArgsConstructor
 public class SMarkerController {
 
+    private static final MediaType VECTOR_TILE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
     private final SMarkerServiceImpl markerService;
 
     @PostMapping
@@ -22,15 +39,87 @@ public class SMarkerController {
         return markerService.getAllMarkers(position);
     }
 
+    @GetMapping("/snapshot")
+    public ResponseEntity<SMarkerSnapshotDto> getSnapshot(WebRequest request) {
+        if (request.checkNotModified(etag(markerService.getSnapshotVersion()))) {
+            return null;
+        }
+        SMarkerSnapshotDto snapshot = markerService.getSnapshot();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag(snapshot.getVersion()))
+                .body(snapshot);
+    }
+
+    @GetMapping("/changes")
+    @ResponseStatus(HttpStatus.OK)
+    public SMarkerChangesDto getChanges(@RequestParam long since) {
+        return markerService.getChangesSince(since);
+    }
+
+    @GetMapping("/bbox")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SMarkerDto> getMarkersWithin(@RequestParam double south, @RequestParam double west,
+                                             @RequestParam double north, @RequestParam double east) {
+        return markerService.getMarkersWithin(new BoundingBox(south, west, north, east));
+    }
+
+    @GetMapping("/nearest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SMarkerNearestDto> getNearestMarkers(@RequestParam float lat, @RequestParam float lng,
+                                                     @RequestParam(defaultValue = "20") int limit,
+                                                     @RequestParam(required = false) Double radius) {
+        return markerService.getNearestMarkers(lat, lng, limit, radius);
+    }
+
+    @GetMapping("/clusters")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SMarkerClusterDto> getClusters(@RequestParam int zoom,
+                                               @RequestParam double south, @RequestParam double west,
+                                               @RequestParam double north, @RequestParam double east) {
+        return markerService.getClusters(zoom, new BoundingBox(south, west, north, east));
+    }
+
+    @GetMapping("/tiles/{z}/{x}/{y}")
+    public ResponseEntity<byte[]> getTile(@PathVariable int z, @PathVariable long x, @PathVariable long y,
+                                          WebRequest request) {
+        MarkerTileCache.CachedTile tile = markerService.getTile(z, x, y);
+        if (request.checkNotModified(tile.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(VECTOR_TILE)
+                // Tiles need authentication, shared caches must not replay them to other clients
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePrivate())
+                .eTag(tile.etag())
+                .body(tile.data());
+    }
+
     @PostMapping("/add")
     @ResponseStatus(HttpStatus.OK)
     public int addMarker(@Valid @RequestBody SMarkerDto sMarkerDto) {
         return markerService.addMarker(sMarkerDto);
     }
 
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    public List<SMarkerImportResultDto> importMarkers(@RequestParam("file") MultipartFile file) throws IOException {
+        return markerService.importMarkers(file);
+    }
+
     @DeleteMapping("/delete")
     @ResponseStatus(HttpStatus.OK)
     public int deleteMarker(@Valid @RequestBody SMarkerDto sMarkerDto) {
         return markerService.deleteMarker(sMarkerDto);
     }
+
+    @GetMapping("/geocode-cache/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public GeocodeCacheStatsDto getGeocodeCacheStats() {
+        return markerService.getGeocodeCacheStats();
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
 }
@@ -1,14 +1,21 @@
 package spring.app.modules.smap.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import spring.app.modules.smap.domain.SMarker;
+import spring.app.modules.smap.utils.GeoHash;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SMarkerDao extends JpaRepository<SMarker, Long> {
-    Optional<SMarker> findByLngAndLat(float lng, float lat);
+    Optional<SMarker> findFirstByGeohashAndLatAndLng(String geohash, float lat, float lng);
     List<SMarker> findAllByTextLocation(String textLocation);
+    List<SMarker> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    default Optional<SMarker> findByPosition(float lat, float lng) {
+        return findFirstByGeohashAndLatAndLng(GeoHash.encode(lat, lng, GeoHash.PRECISION), lat, lng);
+    }
 }
@@ -3,18 +3,22 @@ package spring.app.modules.smap.domain;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import spring.app.modules.commons.domain.SportType;
 
 @Entity
 @Data
 @EqualsAndHashCode(callSuper = true)
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(indexes = @Index(name = "idx_smarker_geohash", columnList = "geohash"))
 public class SMarker extends SPosition {
 
     @ManyToOne
@@ -28,6 +32,8 @@ public class SMarker extends SPosition {
     private String iconPath;
     private String textLocation;
     private String description;
+    @Enumerated(EnumType.STRING)
+    private SportType sportType;
 
     private enum Animation {
         BOUNCE, DROP
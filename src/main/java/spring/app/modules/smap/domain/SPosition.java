@@ -5,15 +5,29 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
+import spring.app.modules.smap.utils.GeoHash;
 
 @Data
 @MappedSuperclass
 public class SPosition {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids with a pooled allocation keep JDBC insert batching working for bulk imports
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sposition_seq")
+    @SequenceGenerator(name = "sposition_seq", sequenceName = "sposition_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
     private float lat;
     private float lng;
+    @Column(length = GeoHash.PRECISION)
+    private String geohash;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = GeoHash.encode(lat, lng, GeoHash.PRECISION);
+    }
 }
@@ -0,0 +1,15 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class GeocodeCacheStatsDto {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+}
@@ -0,0 +1,20 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Jacksonized
+public class SMarkerChangesDto {
+    private long version;
+    /**
+     * The requested version is no longer covered, the client has to reload the snapshot.
+     */
+    private boolean reset;
+    private List<SMarkerDto> added;
+    private List<SMarkerDto.Position> removed;
+}
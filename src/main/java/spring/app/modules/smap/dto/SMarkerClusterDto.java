@@ -0,0 +1,14 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class SMarkerClusterDto {
+    private double lat;
+    private double lng;
+    private int count;
+}
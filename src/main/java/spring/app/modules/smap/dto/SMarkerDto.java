@@ -16,6 +16,7 @@ public class SMarkerDto {
     private String label;
     private Position position;
     private String description;
+    private String sportType;
 
     public static class Position {
         @NotNull
@@ -0,0 +1,20 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Setter
+@Builder
+@Jacksonized
+public class SMarkerImportResultDto {
+    private int row;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+}
@@ -0,0 +1,13 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+@Getter
+@Builder
+@Jacksonized
+public class SMarkerNearestDto {
+    private SMarkerDto marker;
+    private double distance;
+}
@@ -0,0 +1,15 @@
+package spring.app.modules.smap.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Jacksonized
+public class SMarkerSnapshotDto {
+    private long version;
+    private List<SMarkerDto> markers;
+}
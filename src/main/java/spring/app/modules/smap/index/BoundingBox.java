@@ -0,0 +1,37 @@
+package spring.app.modules.smap.index;
+
+/**
+ * Lat/lng rectangle. {@code west > east} means the box crosses the antimeridian.
+ */
+public record BoundingBox(double south, double west, double north, double east) {
+
+    public static final BoundingBox WORLD = new BoundingBox(-90, -180, 90, 180);
+
+    public BoundingBox {
+        if (south < -90 || north > 90 || south > north) {
+            throw new IllegalArgumentException("Bounding box latitude is not valid");
+        }
+        if (west < -180 || west > 180 || east < -180 || east > 180) {
+            throw new IllegalArgumentException("Bounding box longitude is not valid");
+        }
+    }
+
+    public boolean crossesAntimeridian() {
+        return west > east;
+    }
+
+    public boolean contains(double lat, double lng) {
+        if (lat < south || lat > north) {
+            return false;
+        }
+        if (crossesAntimeridian()) {
+            return lng >= west || lng <= east;
+        }
+        return lng >= west && lng <= east;
+    }
+
+    boolean intersects(BoundingBox other) {
+        return south <= other.north && north >= other.south
+                && west <= other.east && east >= other.west;
+    }
+}
@@ -0,0 +1,16 @@
+package spring.app.modules.smap.index;
+
+import spring.app.modules.smap.domain.SMarker;
+
+/**
+ * Immutable copy of the marker fields served from memory.
+ */
+public record IndexedMarker(Long id, float lat, float lng, String title, String label, String description,
+                            String sportType) {
+
+    public static IndexedMarker of(SMarker marker) {
+        return new IndexedMarker(marker.getId(), marker.getLat(), marker.getLng(),
+                marker.getTitle(), marker.getLabel(), marker.getDescription(),
+                marker.getSportType() == null ? null : marker.getSportType().name());
+    }
+}
@@ -0,0 +1,187 @@
+package spring.app.modules.smap.index;
+
+import spring.app.modules.smap.utils.GeoDistance;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Point quadtree over lat/lng. Not thread-safe, callers guard access.
+ * @param <T> type of the stored value
+ */
+public final class QuadTree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+    private static final int MAX_DEPTH = 24;
+
+    private final Node<T> root;
+    private int size;
+
+    public QuadTree(BoundingBox bounds) {
+        this.root = new Node<>(bounds, 0);
+    }
+
+    public void insert(double lat, double lng, T value) {
+        root.insert(new Entry<>(lat, lng, value));
+        size++;
+    }
+
+    public boolean remove(double lat, double lng, T value) {
+        boolean removed = root.remove(lat, lng, value);
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    public void query(BoundingBox box, Consumer<T> consumer) {
+        root.query(box, consumer);
+    }
+
+    /**
+     * Best-first k-nearest-neighbour search by great-circle distance.
+     * @param maxDistance radius cap in meters, {@link Double#POSITIVE_INFINITY} for none
+     * @return up to {@code limit} neighbours sorted by distance
+     */
+    public List<Neighbour<T>> nearest(double lat, double lng, int limit, double maxDistance) {
+        List<Neighbour<T>> result = new ArrayList<>(Math.min(limit, 64));
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        queue.add(new Candidate<>(root.distanceTo(lat, lng), root, null));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate<T> candidate = queue.poll();
+            if (candidate.distance() > maxDistance) {
+                break;
+            }
+            if (candidate.entry() != null) {
+                result.add(new Neighbour<>(candidate.entry().value(), candidate.distance()));
+                continue;
+            }
+            Node<T> node = candidate.node();
+            if (node.children != null) {
+                for (Node<T> child : node.children) {
+                    queue.add(new Candidate<>(child.distanceTo(lat, lng), child, null));
+                }
+            } else {
+                for (Entry<T> e : node.entries) {
+                    double distance = GeoDistance.haversine(lat, lng, e.lat(), e.lng());
+                    queue.add(new Candidate<>(distance, null, e));
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public record Neighbour<T>(T value, double distance) {
+    }
+
+    record Entry<T>(double lat, double lng, T value) {
+    }
+
+    private record Candidate<T>(double distance, Node<T> node, Entry<T> entry) {
+    }
+
+    private static final class Node<T> {
+        private final BoundingBox bounds;
+        private final int depth;
+        private List<Entry<T>> entries = new ArrayList<>();
+        private Node<T>[] children;
+
+        Node(BoundingBox bounds, int depth) {
+            this.bounds = bounds;
+            this.depth = depth;
+        }
+
+        void insert(Entry<T> entry) {
+            if (children != null) {
+                childFor(entry.lat(), entry.lng()).insert(entry);
+                return;
+            }
+            entries.add(entry);
+            if (entries.size() > NODE_CAPACITY && depth < MAX_DEPTH) {
+                split();
+            }
+        }
+
+        boolean remove(double lat, double lng, T value) {
+            if (children != null) {
+                return childFor(lat, lng).remove(lat, lng, value);
+            }
+            return entries.removeIf(e -> e.lat() == lat && e.lng() == lng && e.value().equals(value));
+        }
+
+        void query(BoundingBox box, Consumer<T> consumer) {
+            if (!bounds.intersects(box)) {
+                return;
+            }
+            if (children != null) {
+                for (Node<T> child : children) {
+                    child.query(box, consumer);
+                }
+                return;
+            }
+            for (Entry<T> e : entries) {
+                if (box.contains(e.lat(), e.lng())) {
+                    consumer.accept(e.value());
+                }
+            }
+        }
+
+        /**
+         * Distance to the closest point of this node's bounds, used as a lower bound while searching.
+         * Outside the longitude range the closest point lies on the nearer edge meridian, at the latitude
+         * where that meridian comes closest to the point, clamped to the node.
+         */
+        double distanceTo(double lat, double lng) {
+            if (bounds.contains(lat, lng)) {
+                return 0;
+            }
+            if (lng >= bounds.west() && lng <= bounds.east()) {
+                return GeoDistance.haversine(lat, lng, Math.max(bounds.south(), Math.min(bounds.north(), lat)), lng);
+            }
+            double toWest = ((bounds.west() - lng) % 360 + 360) % 360;
+            double toEast = ((lng - bounds.east()) % 360 + 360) % 360;
+            double edgeLng = toWest < toEast ? bounds.west() : bounds.east();
+            double cosDeltaLng = Math.cos(Math.toRadians(Math.min(toWest, toEast)));
+            double nearestLat;
+            if (cosDeltaLng <= 0) {
+                // More than a quarter turn away, the meridian gets closer all the way to the pole
+                nearestLat = lat >= 0 ? 90 : -90;
+            } else {
+                nearestLat = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(lat)) / cosDeltaLng));
+            }
+            double edgeLat = Math.max(bounds.south(), Math.min(bounds.north(), nearestLat));
+            return GeoDistance.haversine(lat, lng, edgeLat, edgeLng);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void split() {
+            double midLat = (bounds.south() + bounds.north()) / 2;
+            double midLng = (bounds.west() + bounds.east()) / 2;
+            children = new Node[]{
+                    new Node<>(new BoundingBox(bounds.south(), bounds.west(), midLat, midLng), depth + 1),
+                    new Node<>(new BoundingBox(bounds.south(), midLng, midLat, bounds.east()), depth + 1),
+                    new Node<>(new BoundingBox(midLat, bounds.west(), bounds.north(), midLng), depth + 1),
+                    new Node<>(new BoundingBox(midLat, midLng, bounds.north(), bounds.east()), depth + 1)
+            };
+            List<Entry<T>> old = entries;
+            entries = null;
+            for (Entry<T> e : old) {
+                childFor(e.lat(), e.lng()).insert(e);
+            }
+        }
+
+        private Node<T> childFor(double lat, double lng) {
+            double midLat = (bounds.south() + bounds.north()) / 2;
+            double midLng = (bounds.west() + bounds.east()) / 2;
+            int index = (lat >= midLat ? 2 : 0) + (lng >= midLng ? 1 : 0);
+            return children[index];
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package spring.app.modules.smap.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded log of marker changes ordered by a monotonically increasing version.
+ * Every process picks a random epoch kept in the high bits of its versions, so a version or ETag
+ * handed out by another node or before a restart falls outside this log and forces a reset.
+ * Versions stay below 2^53 so JavaScript clients read them exactly.
+ */
+@Component
+public class SMarkerChangeLog {
+
+    private static final int EPOCH_SHIFT = 32;
+    private static final int EPOCH_BITS = 20;
+
+    private final int capacity;
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, 1L << EPOCH_BITS);
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private long version = epoch << EPOCH_SHIFT;
+    // Version of the newest change dropped from the log, deltas since older versions are incomplete
+    private long floor = version;
+
+    public SMarkerChangeLog(@Value("${sport.maps.markers.changes.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void added(IndexedMarker marker) {
+        append(Type.ADDED, marker);
+    }
+
+    public synchronized void removed(IndexedMarker marker) {
+        append(Type.REMOVED, marker);
+    }
+
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * @return changes after {@code since} in order, empty when the log can not cover that range
+     */
+    public synchronized Optional<List<Change>> since(long since) {
+        if (since >>> EPOCH_SHIFT != epoch || since < floor || since > version) {
+            return Optional.empty();
+        }
+        List<Change> result = new ArrayList<>();
+        var iterator = changes.descendingIterator();
+        while (iterator.hasNext()) {
+            Change change = iterator.next();
+            if (change.version() <= since) {
+                break;
+            }
+            result.add(change);
+        }
+        Collections.reverse(result);
+        return Optional.of(result);
+    }
+
+    private void append(Type type, IndexedMarker marker) {
+        changes.addLast(new Change(++version, type, marker));
+        if (changes.size() > capacity) {
+            floor = changes.removeFirst().version();
+        }
+    }
+
+    public enum Type {
+        ADDED, REMOVED
+    }
+
+    public record Change(long version, Type type, IndexedMarker marker) {
+    }
+}
@@ -0,0 +1,150 @@
+package spring.app.modules.smap.index;
+
+import org.springframework.stereotype.Component;
+import spring.app.modules.smap.utils.WebMercator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grid clusters of markers for every zoom level, updated incrementally on add/remove.
+ * <p>
+ * At zoom {@code z} the world is {@code 256 * 2^z} pixels wide and split into square cells of
+ * {@link #CELL_PIXELS}, each cell holds the marker count and the sums needed for its centroid.
+ */
+@Component
+public class SMarkerClusterIndex {
+
+    public static final int MAX_ZOOM = 21;
+    private static final int CELL_PIXELS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+
+    public SMarkerClusterIndex() {
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public void add(IndexedMarker marker) {
+        lock.writeLock().lock();
+        try {
+            update(marker, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<IndexedMarker> markers) {
+        lock.writeLock().lock();
+        try {
+            markers.forEach(m -> update(m, 1));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(IndexedMarker marker) {
+        lock.writeLock().lock();
+        try {
+            update(marker, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return clusters whose cell intersects the box, zoom above {@link #MAX_ZOOM} is clamped
+     */
+    public List<Cluster> clusters(int zoom, BoundingBox box) {
+        int z = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        List<Cluster> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (box.crossesAntimeridian()) {
+                collect(z, new BoundingBox(box.south(), box.west(), box.north(), 180), result);
+                collect(z, new BoundingBox(box.south(), -180, box.north(), box.east()), result);
+            } else {
+                collect(z, box, result);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void collect(int z, BoundingBox box, List<Cluster> result) {
+        long cells = cellsPerSide(z);
+        long minX = cell(WebMercator.x(box.west()), cells);
+        long maxX = cell(WebMercator.x(box.east()), cells);
+        long minY = cell(WebMercator.y(box.north()), cells);
+        long maxY = cell(WebMercator.y(box.south()), cells);
+        Map<Long, Cell> level = levels.get(z);
+        if ((maxX - minX + 1) * (maxY - minY + 1) > level.size()) {
+            level.forEach((key, cell) -> {
+                long x = key >>> 32;
+                long y = key & 0xFFFFFFFFL;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.add(cell.toCluster());
+                }
+            });
+            return;
+        }
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                Cell cell = level.get(key(x, y));
+                if (cell != null) {
+                    result.add(cell.toCluster());
+                }
+            }
+        }
+    }
+
+    private void update(IndexedMarker marker, int delta) {
+        double mx = WebMercator.x(marker.lng());
+        double my = WebMercator.y(marker.lat());
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            long cells = cellsPerSide(z);
+            long key = key(cell(mx, cells), cell(my, cells));
+            Map<Long, Cell> level = levels.get(z);
+            Cell cell = level.computeIfAbsent(key, k -> new Cell());
+            cell.count += delta;
+            cell.sumLat += delta * (double) marker.lat();
+            cell.sumLng += delta * (double) marker.lng();
+            if (cell.count <= 0) {
+                level.remove(key);
+            }
+        }
+    }
+
+    private static long cellsPerSide(int zoom) {
+        return (256L << zoom) / CELL_PIXELS;
+    }
+
+    private static long cell(double normalized, long cells) {
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor(normalized * cells)));
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+
+    public record Cluster(double lat, double lng, int count) {
+    }
+
+    private static final class Cell {
+        private int count;
+        private double sumLat;
+        private double sumLng;
+
+        Cluster toCluster() {
+            return new Cluster(sumLat / count, sumLng / count, count);
+        }
+    }
+}
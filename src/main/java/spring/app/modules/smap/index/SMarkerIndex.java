@@ -0,0 +1,92 @@
+package spring.app.modules.smap.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of all markers, kept in sync by the marker service.
+ */
+@Component
+public class SMarkerIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final QuadTree<IndexedMarker> tree = new QuadTree<>(BoundingBox.WORLD);
+    private final Map<Long, IndexedMarker> byId = new HashMap<>();
+
+    public void add(IndexedMarker marker) {
+        lock.writeLock().lock();
+        try {
+            IndexedMarker previous = byId.put(marker.id(), marker);
+            if (previous != null) {
+                tree.remove(previous.lat(), previous.lng(), previous);
+            }
+            tree.insert(marker.lat(), marker.lng(), marker);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<IndexedMarker> markers) {
+        lock.writeLock().lock();
+        try {
+            markers.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<IndexedMarker> remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedMarker removed = byId.remove(id);
+            if (removed != null) {
+                tree.remove(removed.lat(), removed.lng(), removed);
+            }
+            return Optional.ofNullable(removed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<IndexedMarker> within(BoundingBox box) {
+        List<IndexedMarker> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (box.crossesAntimeridian()) {
+                tree.query(new BoundingBox(box.south(), box.west(), box.north(), 180), result::add);
+                tree.query(new BoundingBox(box.south(), -180, box.north(), box.east()), result::add);
+            } else {
+                tree.query(box, result::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    public List<QuadTree.Neighbour<IndexedMarker>> nearest(double lat, double lng, int limit, double maxDistance) {
+        lock.readLock().lock();
+        try {
+            return tree.nearest(lat, lng, limit, maxDistance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
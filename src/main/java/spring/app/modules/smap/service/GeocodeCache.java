@@ -0,0 +1,95 @@
+package spring.app.modules.smap.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import spring.app.modules.smap.dto.GeocodeCacheStatsDto;
+import spring.app.modules.smap.dto.SMarkerDto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of reverse-geocode results keyed on a quantized lat/lng cell.
+ */
+@Component
+public class GeocodeCache {
+
+    private final double scale;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<Long, CachedLocation> cache;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GeocodeCache(@Value("${sport.maps.geocode.cache.precision:3}") int precision,
+                        @Value("${sport.maps.geocode.cache.ttl:24h}") Duration ttl,
+                        @Value("${sport.maps.geocode.cache.max-size:10000}") int maxSize) {
+        if (precision < 0 || precision > 6) {
+            throw new IllegalArgumentException("Geocode cache precision must be between 0 and 6");
+        }
+        this.scale = Math.pow(10, precision);
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedLocation> eldest) {
+                boolean evict = size() > GeocodeCache.this.maxSize;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public String get(SMarkerDto.Position position, Function<SMarkerDto.Position, String> loader) {
+        long key = cellOf(position);
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedLocation cached = cache.get(key);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return cached.textLocation;
+                }
+                cache.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        String textLocation = loader.apply(position);
+        if (textLocation != null) {
+            synchronized (cache) {
+                cache.put(key, new CachedLocation(textLocation, now + ttlMillis));
+            }
+        }
+        return textLocation;
+    }
+
+    public GeocodeCacheStatsDto getStats() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return GeocodeCacheStatsDto.builder()
+                .hits(hits.get())
+                .misses(misses.get())
+                .evictions(evictions.get())
+                .size(size)
+                .build();
+    }
+
+    private long cellOf(SMarkerDto.Position position) {
+        long lat = Math.round(position.lat * scale);
+        long lng = Math.round(position.lng * scale);
+        return (lat << 32) ^ (lng & 0xFFFFFFFFL);
+    }
+
+    private record CachedLocation(String textLocation, long expiresAt) {
+    }
+}
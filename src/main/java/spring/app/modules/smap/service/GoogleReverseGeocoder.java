@@ -0,0 +1,55 @@
+package spring.app.modules.smap.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import spring.app.modules.smap.dto.SMarkerDto;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "sport.maps.geocode.provider", havingValue = "google", matchIfMissing = true)
+public class GoogleReverseGeocoder implements ReverseGeocoder {
+
+    private static final Pattern COMPOUND_CODE = Pattern.compile("^(\\S+)\\s(.*)");
+
+    private final RestTemplate googleApi;
+    @Value("${google-api-key}")
+    private String apiKey;
+
+    @Override
+    public String getTextLocation(SMarkerDto.Position position) {
+        String result = googleApi.getForObject("/json?latlng=" + position.lat + "," + position.lng + "&key=" + apiKey, String.class);
+        String compoundCode = fromJSON(result).get("plus_code").get("compound_code");
+        String textLocation = null;
+        if (compoundCode != null) {
+            Matcher m = COMPOUND_CODE.matcher(compoundCode);
+            if (m.find()) {
+                textLocation = m.group(2);
+            }
+        } else {
+            throw new IllegalStateException("Unable to parse from JSON");
+        }
+        return textLocation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, String>> fromJSON(String json) {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Map<String, String>> map = null;
+        try {
+            map = mapper.readValue(json, Map.class);
+        } catch (Exception e) {
+            log.error(String.valueOf(e));
+        }
+        return map;
+    }
+}
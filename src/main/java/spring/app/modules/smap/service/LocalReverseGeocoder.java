@@ -0,0 +1,69 @@
+package spring.app.modules.smap.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import spring.app.modules.smap.dto.SMarkerDto;
+import spring.app.modules.smap.index.BoundingBox;
+import spring.app.modules.smap.index.QuadTree;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Offline reverse geocoder. Loads a gazetteer of localities at startup and resolves
+ * a position to the nearest one.
+ * <p>
+ * Gazetteer format is one locality per line: {@code lat,lng,text location}.
+ * Blank lines and lines starting with {@code #} are skipped.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "sport.maps.geocode.provider", havingValue = "local")
+public class LocalReverseGeocoder implements ReverseGeocoder {
+
+    private final QuadTree<String> localities = new QuadTree<>(BoundingBox.WORLD);
+    private final double maxDistance;
+
+    public LocalReverseGeocoder(@Value("${sport.maps.geocode.local.gazetteer:classpath:geo/gazetteer.csv}") Resource gazetteer,
+                                @Value("${sport.maps.geocode.local.max-distance-meters:50000}") double maxDistance) throws IOException {
+        this.maxDistance = maxDistance;
+        load(gazetteer);
+        log.info("Local reverse geocoder loaded {} localities from {}", localities.size(), gazetteer.getDescription());
+    }
+
+    @Override
+    public String getTextLocation(SMarkerDto.Position position) {
+        List<QuadTree.Neighbour<String>> nearest = localities.nearest(position.lat, position.lng, 1, maxDistance);
+        if (nearest.isEmpty()) {
+            throw new IllegalStateException("No locality found near lat: " + position.lat + ", lng: " + position.lng);
+        }
+        return nearest.get(0).value();
+    }
+
+    private void load(Resource gazetteer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",", 3);
+                if (parts.length != 3) {
+                    throw new IllegalStateException("Malformed gazetteer line " + lineNumber + ": " + line);
+                }
+                double lat = Double.parseDouble(parts[0].strip());
+                double lng = Double.parseDouble(parts[1].strip());
+                localities.insert(lat, lng, parts[2].strip());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package spring.app.modules.smap.service;
+
+import spring.app.modules.smap.dto.SMarkerDto;
+
+/**
+ * Resolves a position to the locality string stored in {@code SMarker.textLocation},
+ * e.g. "Odesa, Odesa Oblast, Ukraine".
+ */
+public interface ReverseGeocoder {
+    String getTextLocation(SMarkerDto.Position position);
+}
@@ -0,0 +1,63 @@
+package spring.app.modules.smap.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Periodically merges markers that were stored within the dedup radius of each other.
+ * A Postgres advisory lock held for the whole run keeps the other nodes from compacting the same rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SMarkerCompactionJob {
+
+    private static final String LOCK_KEY = "sport-maps.marker-compaction";
+
+    private final SMarkerServiceImpl markerService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${sport.maps.markers.dedup.compaction.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${sport.maps.markers.dedup.compaction.interval:PT1H}",
+            fixedDelayString = "${sport.maps.markers.dedup.compaction.interval:PT1H}")
+    public void compact() {
+        // Session level lock, so it has to be taken and released on the same connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!queryAdvisoryLock(connection.prepareStatement("SELECT pg_try_advisory_lock(hashtext(?))"))) {
+                log.debug("Marker compaction is running on another node");
+                return null;
+            }
+            try {
+                long started = System.currentTimeMillis();
+                Long cursor = 0L;
+                while (cursor != null) {
+                    cursor = markerService.compactDuplicates(cursor, batchSize);
+                }
+                log.info("Marker compaction finished in {} ms", System.currentTimeMillis() - started);
+            } finally {
+                queryAdvisoryLock(connection.prepareStatement("SELECT pg_advisory_unlock(hashtext(?))"));
+            }
+            return null;
+        });
+    }
+
+    private boolean queryAdvisoryLock(PreparedStatement statement) throws SQLException {
+        try (statement) {
+            statement.setString(1, LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
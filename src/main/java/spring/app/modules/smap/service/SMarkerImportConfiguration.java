@@ -0,0 +1,24 @@
+package spring.app.modules.smap.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SMarkerImportConfiguration {
+
+    @Bean
+    public ThreadPoolTaskExecutor markerImportExecutor(@Value("${sport.maps.markers.import.geocode-concurrency:8}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency * 16);
+        // A full queue makes the importing request thread geocode rows itself instead of failing them
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("marker-import-");
+        return executor;
+    }
+}
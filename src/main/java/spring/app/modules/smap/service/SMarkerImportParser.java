@@ -0,0 +1,164 @@
+package spring.app.modules.smap.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import spring.app.modules.smap.dto.SMarkerDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads marker files for bulk import.
+ * <p>
+ * CSV needs a header row with {@code lat} and {@code lng} columns, {@code title}, {@code label},
+ * {@code description} and {@code sportType} are optional. GeoJSON needs a FeatureCollection of Point features,
+ * marker fields are taken from the feature properties.
+ */
+final class SMarkerImportParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SMarkerImportParser() {
+
+    }
+
+    /**
+     * A parsed row. Either {@code marker} or {@code error} is set.
+     */
+    record Row(int number, SMarkerDto marker, String error) {
+    }
+
+    static List<Row> parse(String filename, InputStream in) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return parseCsv(in);
+        }
+        if (name.endsWith(".geojson") || name.endsWith(".json")) {
+            return parseGeoJson(in);
+        }
+        throw new IllegalArgumentException("Unsupported marker file, expected .csv or .geojson: " + filename);
+    }
+
+    private static List<Row> parseCsv(InputStream in) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return rows;
+            }
+            Map<String, Integer> header = new HashMap<>();
+            List<String> columns = splitCsvLine(headerLine);
+            for (int i = 0; i < columns.size(); i++) {
+                header.put(columns.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            if (!header.containsKey("lat") || !header.containsKey("lng")) {
+                throw new IllegalArgumentException("CSV header must contain lat and lng columns");
+            }
+            String line;
+            int number = 1;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = splitCsvLine(line);
+                try {
+                    SMarkerDto marker = SMarkerDto.builder()
+                            .title(column(values, header, "title"))
+                            .label(column(values, header, "label"))
+                            .description(column(values, header, "description"))
+                            .sportType(column(values, header, "sporttype"))
+                            .position(new SMarkerDto.Position(
+                                    Float.parseFloat(column(values, header, "lat")),
+                                    Float.parseFloat(column(values, header, "lng"))))
+                            .build();
+                    rows.add(new Row(number, marker, null));
+                } catch (NumberFormatException | NullPointerException e) {
+                    rows.add(new Row(number, null, "Position is not a number"));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static List<Row> parseGeoJson(InputStream in) throws IOException {
+        JsonNode root = MAPPER.readTree(in);
+        JsonNode features = root.path("features");
+        if (!"FeatureCollection".equals(root.path("type").asText()) || !features.isArray()) {
+            throw new IllegalArgumentException("GeoJSON must be a FeatureCollection");
+        }
+        List<Row> rows = new ArrayList<>(features.size());
+        int number = 0;
+        for (JsonNode feature : features) {
+            number++;
+            JsonNode geometry = feature.path("geometry");
+            JsonNode coordinates = geometry.path("coordinates");
+            if (!"Point".equals(geometry.path("type").asText()) || coordinates.size() < 2
+                    || !coordinates.get(0).isNumber() || !coordinates.get(1).isNumber()) {
+                rows.add(new Row(number, null, "Feature is not a Point"));
+                continue;
+            }
+            JsonNode properties = feature.path("properties");
+            SMarkerDto marker = SMarkerDto.builder()
+                    .title(text(properties, "title"))
+                    .label(text(properties, "label"))
+                    .description(text(properties, "description"))
+                    .sportType(text(properties, "sportType"))
+                    // GeoJSON positions are [lng, lat]
+                    .position(new SMarkerDto.Position(coordinates.get(1).floatValue(), coordinates.get(0).floatValue()))
+                    .build();
+            rows.add(new Row(number, marker, null));
+        }
+        return rows;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode properties, String name) {
+        JsonNode node = properties.get(name);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,32 @@
+package spring.app.modules.smap.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import spring.app.modules.commons.service.InvalidationBus;
+
+/**
+ * Re-syncs the marker indexes, tile cache and change log when another node changes markers.
+ */
+@Component
+@RequiredArgsConstructor
+public class SMarkerInvalidationListener implements InvalidationBus.Listener {
+
+    private final InvalidationBus invalidationBus;
+    private final SMarkerServiceImpl markerService;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationBus.subscribe(SMarkerServiceImpl.INVALIDATION_MODULE, this);
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        markerService.syncMarker(id);
+    }
+
+    @Override
+    public void invalidateAll() {
+        markerService.syncIndex();
+    }
+}
@@ -1,47 +1,156 @@
 package spring.app.modules.smap.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+import spring.app.modules.commons.domain.SportType;
+import spring.app.modules.commons.service.InvalidationBus;
 import spring.app.modules.security.service.AuthenticationService;
 import spring.app.modules.smap.dao.SMarkerDao;
 import spring.app.modules.smap.domain.SMarker;
+import spring.app.modules.smap.dto.GeocodeCacheStatsDto;
+import spring.app.modules.smap.dto.SMarkerChangesDto;
+import spring.app.modules.smap.dto.SMarkerClusterDto;
 import spring.app.modules.smap.dto.SMarkerDto;
+import spring.app.modules.smap.dto.SMarkerImportResultDto;
+import spring.app.modules.smap.dto.SMarkerNearestDto;
+import spring.app.modules.smap.dto.SMarkerSnapshotDto;
+import spring.app.modules.smap.index.BoundingBox;
+import spring.app.modules.smap.index.IndexedMarker;
+import spring.app.modules.smap.index.SMarkerChangeLog;
+import spring.app.modules.smap.index.QuadTree;
+import spring.app.modules.smap.index.SMarkerClusterIndex;
+import spring.app.modules.smap.index.SMarkerIndex;
+import spring.app.modules.smap.tile.MarkerTileCache;
+import spring.app.modules.smap.tile.MarkerTileEncoder;
+import spring.app.modules.smap.utils.WebMercator;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SMarkerServiceImpl {
 
+    private static final int IMPORT_BATCH_SIZE = 500;
+    private static final int MAX_NEAREST_LIMIT = 100;
+    static final String INVALIDATION_MODULE = "markers";
+
     private final AuthenticationService authenticationService;
     private final SMarkerDao markerDao;
-    private final RestTemplate googleApi;
-    @Value("${google-api-key}")
-    private String apiKey;
+    private final ReverseGeocoder reverseGeocoder;
+    private final SMarkerIndex markerIndex;
+    private final SMarkerClusterIndex clusterIndex;
+    private final MarkerTileCache tileCache;
+    private final SMarkerChangeLog changeLog;
+    private final GeocodeCache geocodeCache;
+    private final ThreadPoolTaskExecutor markerImportExecutor;
+    private final InvalidationBus invalidationBus;
+
+    @Value("${sport.maps.markers.dedup.radius-meters:15}")
+    private double dedupRadius;
+
+    @PostConstruct
+    public void loadIndex() {
+        indexMarkers(markerDao.findAll());
+        log.info("Spatial index loaded with {} markers", markerIndex.size());
+    }
 
     public int addMarker(SMarkerDto markerDto) {
         if (!isValidGeo(markerDto.getPosition())) {
             throw new IllegalArgumentException("Marker's position is not valid");
         }
+        if (!isValidSportType(markerDto.getSportType())) {
+            throw new IllegalArgumentException("Sport type was not found!");
+        }
         float lng = markerDto.getPosition().lng;
         float lat = markerDto.getPosition().lat;
-        Optional<SMarker> byLngAndLat = markerDao.findByLngAndLat(lng, lat);
-        if (byLngAndLat.isPresent()) {
+        Optional<SMarker> byPosition = markerDao.findByPosition(lat, lng);
+        if (byPosition.isPresent() || findDuplicate(lat, lng).isPresent()) {
             throw new IllegalArgumentException("Marker already exists with position:\n lat: " + lat + "\n lng: " + lng);
         }
-        markerDao.save(toEntity(markerDto, new SMarker()));
+        SMarker saved = markerDao.save(toEntity(markerDto, new SMarker()));
+        indexMarkers(List.of(saved));
+        invalidationBus.publish(INVALIDATION_MODULE, saved.getId());
         return 0;
     }
 
+    public List<SMarkerImportResultDto> importMarkers(MultipartFile file) throws IOException {
+        List<SMarkerImportParser.Row> rows = SMarkerImportParser.parse(file.getOriginalFilename(), file.getInputStream());
+        List<SMarkerImportResultDto> results = new ArrayList<>(rows.size());
+        QuadTree<Integer> seenPositions = new QuadTree<>(BoundingBox.WORLD);
+        Map<SMarkerImportResultDto, SMarkerDto> accepted = new LinkedHashMap<>();
+        for (SMarkerImportParser.Row row : rows) {
+            SMarkerImportResultDto result = SMarkerImportResultDto.builder().row(row.number()).build();
+            results.add(result);
+            if (row.error() != null) {
+                reject(result, SMarkerImportResultDto.Status.INVALID, row.error());
+                continue;
+            }
+            SMarkerDto.Position position = row.marker().getPosition();
+            if (!isValidGeo(position)) {
+                reject(result, SMarkerImportResultDto.Status.INVALID, "Marker's position is not valid");
+                continue;
+            }
+            if (!isValidSportType(row.marker().getSportType())) {
+                reject(result, SMarkerImportResultDto.Status.INVALID, "Sport type was not found!");
+                continue;
+            }
+            List<QuadTree.Neighbour<Integer>> sameRow = seenPositions.nearest(position.lat, position.lng, 1, dedupRadius);
+            if (!sameRow.isEmpty()) {
+                reject(result, SMarkerImportResultDto.Status.DUPLICATE, "Same position as row " + sameRow.get(0).value());
+                continue;
+            }
+            if (findDuplicate(position.lat, position.lng).isPresent()) {
+                reject(result, SMarkerImportResultDto.Status.DUPLICATE, "Marker already exists");
+                continue;
+            }
+            seenPositions.insert(position.lat, position.lng, row.number());
+            accepted.put(result, row.marker());
+        }
+
+        Map<SMarkerImportResultDto, Future<String>> locations = new LinkedHashMap<>();
+        accepted.forEach((result, dto) -> locations.put(result, markerImportExecutor.submit(() -> getTextLocation(dto.getPosition()))));
+
+        List<SMarker> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<SMarkerImportResultDto> batchResults = new ArrayList<>(IMPORT_BATCH_SIZE);
+        for (Map.Entry<SMarkerImportResultDto, Future<String>> entry : locations.entrySet()) {
+            SMarkerImportResultDto result = entry.getKey();
+            try {
+                batch.add(toEntity(accepted.get(result), new SMarker(), entry.getValue().get()));
+                batchResults.add(result);
+            } catch (ExecutionException e) {
+                reject(result, SMarkerImportResultDto.Status.FAILED, "Unable to resolve location: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Marker import interrupted");
+            }
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                saveImported(batch, batchResults);
+            }
+        }
+        saveImported(batch, batchResults);
+        return results;
+    }
+
     public List<SMarkerDto> getAllMarkers(SMarkerDto.Position clientPosition) {
         String textLocation = getTextLocation(clientPosition);
         List<SMarker> allByTextLocation = markerDao.findAllByTextLocation(textLocation);
@@ -51,53 +160,297 @@ public class SMarkerServiceImpl {
                 .title(e.getTitle())
                 .position(new SMarkerDto.Position(e.getLat(), e.getLng()))
                 .description(e.getDescription())
+                .sportType(e.getSportType() == null ? null : e.getSportType().name())
                 .build()).toList();
     }
 
+    public List<SMarkerDto> getMarkersWithin(BoundingBox box) {
+        return markerIndex.within(box).stream().map(this::toDto).toList();
+    }
+
+    public long getSnapshotVersion() {
+        return changeLog.version();
+    }
+
+    public SMarkerSnapshotDto getSnapshot() {
+        // Read the version first, a change racing with the read is then repeated by the next delta
+        long version = changeLog.version();
+        return SMarkerSnapshotDto.builder()
+                .version(version)
+                .markers(markerIndex.within(BoundingBox.WORLD).stream().map(this::toDto).toList())
+                .build();
+    }
+
+    public SMarkerChangesDto getChangesSince(long since) {
+        long version = changeLog.version();
+        Optional<List<SMarkerChangeLog.Change>> changes = changeLog.since(since);
+        if (changes.isEmpty()) {
+            return SMarkerChangesDto.builder().version(version).reset(true).build();
+        }
+        Map<Long, IndexedMarker> added = new LinkedHashMap<>();
+        Map<Long, IndexedMarker> removed = new LinkedHashMap<>();
+        for (SMarkerChangeLog.Change change : changes.get()) {
+            IndexedMarker marker = change.marker();
+            version = Math.max(version, change.version());
+            if (change.type() == SMarkerChangeLog.Type.ADDED) {
+                added.put(marker.id(), marker);
+            } else {
+                added.remove(marker.id());
+                removed.put(marker.id(), marker);
+            }
+        }
+        return SMarkerChangesDto.builder()
+                .version(version)
+                .added(added.values().stream().map(this::toDto).toList())
+                .removed(removed.values().stream().map(m -> new SMarkerDto.Position(m.lat(), m.lng())).toList())
+                .build();
+    }
+
+    public List<SMarkerNearestDto> getNearestMarkers(float lat, float lng, int limit, Double radius) {
+        if (!isValidGeo(new SMarkerDto.Position(lat, lng))) {
+            throw new IllegalArgumentException("Position is not valid");
+        }
+        if (limit < 1 || limit > MAX_NEAREST_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NEAREST_LIMIT);
+        }
+        if (radius != null && radius <= 0) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        double maxDistance = radius == null ? Double.POSITIVE_INFINITY : radius;
+        return markerIndex.nearest(lat, lng, limit, maxDistance).stream()
+                .map(n -> SMarkerNearestDto.builder()
+                        .marker(toDto(n.value()))
+                        .distance(n.distance())
+                        .build())
+                .toList();
+    }
+
+    public List<SMarkerClusterDto> getClusters(int zoom, BoundingBox box) {
+        return clusterIndex.clusters(zoom, box).stream().map(c -> SMarkerClusterDto.builder()
+                .lat(c.lat())
+                .lng(c.lng())
+                .count(c.count())
+                .build()).toList();
+    }
+
+    public MarkerTileCache.CachedTile getTile(int z, long x, long y) {
+        if (z < 0 || z > MarkerTileCache.MAX_ZOOM) {
+            throw new IllegalArgumentException("Tile zoom must be between 0 and " + MarkerTileCache.MAX_ZOOM);
+        }
+        long n = 1L << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Tile " + z + "/" + x + "/" + y + " does not exist");
+        }
+        return tileCache.get(z, x, y, () -> {
+            BoundingBox box = new BoundingBox(WebMercator.lat((double) (y + 1) / n), WebMercator.lng((double) x / n),
+                    WebMercator.lat((double) y / n), WebMercator.lng((double) (x + 1) / n));
+            // Markers on a shared edge belong to the tile MarkerTileCache.invalidate computes for them
+            List<IndexedMarker> markers = markerIndex.within(box).stream()
+                    .filter(m -> Math.min(n - 1, (long) Math.floor(WebMercator.x(m.lng()) * n)) == x
+                            && Math.min(n - 1, (long) Math.floor(WebMercator.y(m.lat()) * n)) == y)
+                    .toList();
+            return MarkerTileEncoder.encode(z, x, y, markers);
+        });
+    }
+
     public int deleteMarker(SMarkerDto sMarkerDto) {
-        markerDao.findByLngAndLat(sMarkerDto.getPosition().lng, sMarkerDto.getPosition().lat).ifPresent(markerDao::delete);
+        markerDao.findByPosition(sMarkerDto.getPosition().lat, sMarkerDto.getPosition().lng).ifPresent(marker -> {
+            markerDao.delete(marker);
+            unindexMarker(marker.getId());
+            invalidationBus.publish(INVALIDATION_MODULE, marker.getId());
+        });
         return 1;
     }
 
-    private String getTextLocation(SMarkerDto.Position position) {
-        String result = googleApi.getForObject("/json?latlng=" + position.lat + "," + position.lng + "&key=" + apiKey, String.class);
-        String compoundCode = fromJSON(result).get("plus_code").get("compound_code");
-        String textLocation = null;
-        if (compoundCode != null) {
-            final Pattern p = Pattern.compile("^(\\S+)\\s(.*)");
-            Matcher m = p.matcher(compoundCode);
-            if (m.find()) {
-                textLocation = m.group(2);
+    /**
+     * Merges near-duplicate markers among the next {@code batchSize} markers after {@code afterId}.
+     * The marker with the lowest id is kept and takes over fields it is missing from the removed ones.
+     * The in-memory indexes are updated only once the batch commits.
+     * @return id of the last scanned marker, {@code null} when there is nothing left to scan
+     */
+    @Transactional
+    public Long compactDuplicates(Long afterId, int batchSize) {
+        List<SMarker> markers = markerDao.findAllByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+        Set<Long> removed = new HashSet<>();
+        List<IndexedMarker> kept = new ArrayList<>();
+        for (SMarker keeper : markers) {
+            if (removed.contains(keeper.getId())) {
+                continue;
+            }
+            List<Long> duplicateIds = markerIndex.nearest(keeper.getLat(), keeper.getLng(), MAX_NEAREST_LIMIT, dedupRadius).stream()
+                    .map(n -> n.value().id())
+                    .filter(id -> id > keeper.getId() && !removed.contains(id))
+                    .toList();
+            if (duplicateIds.isEmpty()) {
+                continue;
+            }
+            List<SMarker> duplicates = markerDao.findAllById(duplicateIds);
+            duplicates.forEach(duplicate -> mergeInto(keeper, duplicate));
+            markerDao.deleteAll(duplicates);
+            markerDao.save(keeper);
+            duplicates.forEach(duplicate -> removed.add(duplicate.getId()));
+            kept.add(IndexedMarker.of(keeper));
+            List<Long> changed = new ArrayList<>(duplicateIds);
+            changed.add(keeper.getId());
+            invalidationBus.publish(INVALIDATION_MODULE, changed);
+            log.info("Merged {} duplicate markers into marker {}", duplicates.size(), keeper.getId());
+        }
+        if (!kept.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removed.forEach(SMarkerServiceImpl.this::unindexMarker);
+                    kept.forEach(SMarkerServiceImpl.this::reindexMarker);
+                }
+            });
+        }
+        return markers.isEmpty() ? null : markers.get(markers.size() - 1).getId();
+    }
+
+    /**
+     * Brings one marker of the in-memory indexes in line with the database after another node changed it.
+     */
+    public void syncMarker(Long id) {
+        unindexMarker(id);
+        markerDao.findById(id).ifPresent(marker -> indexMarkers(List.of(marker)));
+    }
+
+    /**
+     * Brings the whole in-memory index in line with the database, only markers that differ are touched.
+     */
+    public void syncIndex() {
+        Map<Long, IndexedMarker> stored = new HashMap<>();
+        markerDao.findAll().forEach(marker -> stored.put(marker.getId(), IndexedMarker.of(marker)));
+        for (IndexedMarker indexed : markerIndex.within(BoundingBox.WORLD)) {
+            IndexedMarker current = stored.remove(indexed.id());
+            if (current == null || !current.equals(indexed)) {
+                unindexMarker(indexed.id());
+                if (current != null) {
+                    stored.put(current.id(), current);
+                }
             }
-        } else {
-            throw new IllegalStateException("Unable to parse from JSON");
         }
-        return textLocation;
+        List<IndexedMarker> added = new ArrayList<>(stored.values());
+        markerIndex.addAll(added);
+        clusterIndex.addAll(added);
+        added.forEach(m -> {
+            tileCache.invalidate(m.lat(), m.lng());
+            changeLog.added(m);
+        });
+        log.info("Spatial index re-synced, {} markers updated", added.size());
+    }
+
+    public GeocodeCacheStatsDto getGeocodeCacheStats() {
+        return geocodeCache.getStats();
+    }
+
+    private String getTextLocation(SMarkerDto.Position position) {
+        return geocodeCache.get(position, reverseGeocoder::getTextLocation);
+    }
+
+    private void indexMarkers(List<SMarker> markers) {
+        List<IndexedMarker> indexed = markers.stream().map(IndexedMarker::of).toList();
+        markerIndex.addAll(indexed);
+        clusterIndex.addAll(indexed);
+        indexed.forEach(m -> {
+            tileCache.invalidate(m.lat(), m.lng());
+            changeLog.added(m);
+        });
+    }
+
+    private void reindexMarker(IndexedMarker indexed) {
+        markerIndex.add(indexed);
+        tileCache.invalidate(indexed.lat(), indexed.lng());
+        changeLog.added(indexed);
+    }
+
+    private void unindexMarker(Long id) {
+        markerIndex.remove(id).ifPresent(m -> {
+            clusterIndex.remove(m);
+            tileCache.invalidate(m.lat(), m.lng());
+            changeLog.removed(m);
+        });
+    }
+
+    private void saveImported(List<SMarker> batch, List<SMarkerImportResultDto> batchResults) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<SMarker> saved = markerDao.saveAll(batch);
+        indexMarkers(saved);
+        invalidationBus.publish(INVALIDATION_MODULE, saved.stream().map(SMarker::getId).toList());
+        batchResults.forEach(r -> r.setStatus(SMarkerImportResultDto.Status.CREATED));
+        batch.clear();
+        batchResults.clear();
+    }
+
+    private void reject(SMarkerImportResultDto result, SMarkerImportResultDto.Status status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Map<String, String>> fromJSON(String json) {
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Map<String, String>> map = null;
-        try {
-            map = mapper.readValue(json, Map.class);
-        } catch (Exception e) {
-            log.error(String.valueOf(e));
+    private Optional<IndexedMarker> findDuplicate(float lat, float lng) {
+        return markerIndex.nearest(lat, lng, 1, dedupRadius).stream()
+                .map(QuadTree.Neighbour::value)
+                .findFirst();
+    }
+
+    private void mergeInto(SMarker keeper, SMarker duplicate) {
+        if (keeper.getTitle() == null) {
+            keeper.setTitle(duplicate.getTitle());
+        }
+        if (keeper.getLabel() == null) {
+            keeper.setLabel(duplicate.getLabel());
+        }
+        if (keeper.getDescription() == null) {
+            keeper.setDescription(duplicate.getDescription());
+        }
+        if (keeper.getSportType() == null) {
+            keeper.setSportType(duplicate.getSportType());
         }
-        return map;
+        if (keeper.getTextLocation() == null) {
+            keeper.setTextLocation(duplicate.getTextLocation());
+        }
+    }
+
+    private SMarkerDto toDto(IndexedMarker marker) {
+        return SMarkerDto.builder()
+                .label(marker.label())
+                .title(marker.title())
+                .position(new SMarkerDto.Position(marker.lat(), marker.lng()))
+                .description(marker.description())
+                .sportType(marker.sportType())
+                .build();
     }
 
     private SMarker toEntity(SMarkerDto dto, SMarker entity) {
+        return toEntity(dto, entity, getTextLocation(dto.getPosition()));
+    }
+
+    private SMarker toEntity(SMarkerDto dto, SMarker entity, String textLocation) {
         entity.setTitle(dto.getTitle());
         entity.setLabel(dto.getLabel());
         entity.setLat(dto.getPosition().lat);
         entity.setLng(dto.getPosition().lng);
-        entity.setTextLocation(getTextLocation(dto.getPosition()));
+        entity.setTextLocation(textLocation);
         entity.setDescription(dto.getDescription());
+        entity.setSportType(dto.getSportType() == null ? null : SportType.valueOf(dto.getSportType()));
         return entity;
     }
 
+    private boolean isValidSportType(String sportType) {
+        if (sportType == null) {
+            return true;
+        }
+        for (SportType type : SportType.values()) {
+            if (type.name().equals(sportType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isValidGeo(SMarkerDto.Position position) {
-        return position.lat >= -90 || position.lat <= 90 && position.lng >= -180 && position.lng <= 180;
+        return position.lat >= -90 && position.lat <= 90 && position.lng >= -180 && position.lng <= 180;
     }
 }
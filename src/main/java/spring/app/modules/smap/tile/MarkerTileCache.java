@@ -0,0 +1,76 @@
+package spring.app.modules.smap.tile;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import spring.app.modules.smap.utils.WebMercator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of encoded marker tiles keyed by z/x/y. A marker change evicts only the
+ * tiles that contain it, one per zoom level.
+ */
+@Component
+public class MarkerTileCache {
+
+    public static final int MAX_ZOOM = 22;
+
+    private final Map<Long, CachedTile> tiles;
+    // Bumped on every invalidation so a tile encoded concurrently with a change is not cached
+    private long generation;
+
+    public MarkerTileCache(@Value("${sport.maps.markers.tiles.cache-size:4096}") int maxSize) {
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTile> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public CachedTile get(int z, long x, long y, Supplier<byte[]> encoder) {
+        long key = key(z, x, y);
+        long seen;
+        synchronized (tiles) {
+            CachedTile cached = tiles.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            seen = generation;
+        }
+        CachedTile tile = new CachedTile(encoder.get());
+        synchronized (tiles) {
+            if (seen == generation) {
+                tiles.put(key, tile);
+            }
+        }
+        return tile;
+    }
+
+    public void invalidate(double lat, double lng) {
+        double mx = WebMercator.x(lng);
+        double my = WebMercator.y(lat);
+        synchronized (tiles) {
+            generation++;
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                long n = 1L << z;
+                long x = Math.min(n - 1, (long) Math.floor(mx * n));
+                long y = Math.min(n - 1, (long) Math.floor(my * n));
+                tiles.remove(key(z, x, y));
+            }
+        }
+    }
+
+    private static long key(int z, long x, long y) {
+        return ((long) z << 58) | (x << 29) | y;
+    }
+
+    public record CachedTile(byte[] data, String etag) {
+        CachedTile(byte[] data) {
+            this(data, "\"" + Integer.toHexString(Arrays.hashCode(data)) + "-" + data.length + "\"");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package spring.app.modules.smap.tile;
+
+import spring.app.modules.smap.index.IndexedMarker;
+import spring.app.modules.smap.utils.WebMercator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes markers as a Mapbox Vector Tile (spec v2.1) with a single point layer.
+ */
+public final class MarkerTileEncoder {
+
+    public static final String LAYER_NAME = "markers";
+    public static final int EXTENT = 4096;
+
+    private static final int GEOM_TYPE_POINT = 1;
+    private static final int CMD_MOVE_TO_ONCE = (1 << 3) | 1;
+
+    private MarkerTileEncoder() {
+
+    }
+
+    public static byte[] encode(int z, long x, long y, List<IndexedMarker> markers) {
+        double scale = (double) (1L << z);
+        List<String> keys = new ArrayList<>();
+        Map<String, Integer> keyIndex = new LinkedHashMap<>();
+        Map<String, Integer> valueIndex = new LinkedHashMap<>();
+
+        ProtoWriter layer = new ProtoWriter();
+        layer.uint32(15, 2);
+        layer.string(1, LAYER_NAME);
+        for (IndexedMarker marker : markers) {
+            long px = Math.round((WebMercator.x(marker.lng()) * scale - x) * EXTENT);
+            long py = Math.round((WebMercator.y(marker.lat()) * scale - y) * EXTENT);
+
+            ProtoWriter feature = new ProtoWriter();
+            if (marker.id() != null) {
+                feature.uint64(1, marker.id());
+            }
+            List<Integer> tags = new ArrayList<>(6);
+            tag(tags, keys, keyIndex, valueIndex, "title", marker.title());
+            tag(tags, keys, keyIndex, valueIndex, "label", marker.label());
+            tag(tags, keys, keyIndex, valueIndex, "sportType", marker.sportType());
+            feature.packed(2, tags.stream().mapToLong(Integer::longValue).toArray());
+            feature.uint32(3, GEOM_TYPE_POINT);
+            feature.packed(4, new long[]{CMD_MOVE_TO_ONCE, zigZag(px), zigZag(py)});
+            layer.message(2, feature);
+        }
+        for (String key : keys) {
+            layer.string(3, key);
+        }
+        for (String value : valueIndex.keySet()) {
+            ProtoWriter v = new ProtoWriter();
+            v.string(1, value);
+            layer.message(4, v);
+        }
+        layer.uint32(5, EXTENT);
+
+        ProtoWriter tile = new ProtoWriter();
+        tile.message(3, layer);
+        return tile.toByteArray();
+    }
+
+    private static void tag(List<Integer> tags, List<String> keys, Map<String, Integer> keyIndex,
+                            Map<String, Integer> valueIndex, String key, String value) {
+        if (value == null) {
+            return;
+        }
+        tags.add(keyIndex.computeIfAbsent(key, k -> {
+            keys.add(k);
+            return keys.size() - 1;
+        }));
+        tags.add(valueIndex.computeIfAbsent(value, v -> valueIndex.size()));
+    }
+
+    private static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    /**
+     * Minimal protobuf writer for the handful of wire types MVT needs.
+     */
+    private static final class ProtoWriter {
+        private static final int VARINT = 0;
+        private static final int LENGTH_DELIMITED = 2;
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void uint32(int field, int value) {
+            uint64(field, value & 0xFFFFFFFFL);
+        }
+
+        void uint64(int field, long value) {
+            key(field, VARINT);
+            varint(value);
+        }
+
+        void string(int field, String value) {
+            bytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void message(int field, ProtoWriter message) {
+            bytes(field, message.toByteArray());
+        }
+
+        void packed(int field, long[] values) {
+            if (values.length == 0) {
+                return;
+            }
+            ProtoWriter packed = new ProtoWriter();
+            for (long value : values) {
+                packed.varint(value);
+            }
+            bytes(field, packed.toByteArray());
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private void bytes(int field, byte[] bytes) {
+            key(field, LENGTH_DELIMITED);
+            varint(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        private void key(int field, int wireType) {
+            varint(((long) field << 3) | wireType);
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+}
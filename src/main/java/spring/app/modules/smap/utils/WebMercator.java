@@ -0,0 +1,32 @@
+package spring.app.modules.smap.utils;
+
+/**
+ * Web Mercator projection to normalized world coordinates in [0, 1), as used by slippy map tiles.
+ */
+public final class WebMercator {
+
+    public static final double MAX_LAT = 85.05112878;
+
+    private WebMercator() {
+
+    }
+
+    public static double x(double lng) {
+        return (lng + 180) / 360;
+    }
+
+    public static double y(double lat) {
+        double clamped = Math.max(-MAX_LAT, Math.min(MAX_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    public static double lng(double x) {
+        return x * 360 - 180;
+    }
+
+    public static double lat(double y) {
+        double n = Math.PI - 2 * Math.PI * y;
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
@@ -0,0 +1,158 @@
+package spring.app;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import spring.app.modules.comments.event.domain.EventComment;
+import spring.app.modules.comments.news.domain.NewsComment;
+import spring.app.modules.commons.domain.ImageData;
+import spring.app.modules.commons.domain.SportType;
+import spring.app.modules.commons.service.DtoCache;
+import spring.app.modules.commons.service.EntityCounter;
+import spring.app.modules.commons.service.ImageBlobService;
+import spring.app.modules.commons.service.ImageCache;
+import spring.app.modules.commons.service.ImageDataService;
+import spring.app.modules.commons.service.ImageStore;
+import spring.app.modules.commons.service.ImageUploadValidator;
+import spring.app.modules.commons.service.ImageVariantService;
+import spring.app.modules.event.dao.EventDao;
+import spring.app.modules.event.domain.Event;
+import spring.app.modules.event.service.EventServiceImpl;
+import spring.app.modules.news.dao.NewDao;
+import spring.app.modules.news.domain.New;
+import spring.app.modules.news.service.NewServiceImpl;
+import spring.app.modules.security.domain.Role;
+import spring.app.modules.security.domain.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Loading a list page and mapping it to DTOs takes the same number of statements whatever the page size.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database=h2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({EventServiceImpl.class, NewServiceImpl.class, ImageDataService.class})
+class PageQueryCountTests {
+
+    private static final int ITEMS = 15;
+
+    @MockBean
+    private EntityCounter entityCounter;
+    @MockBean
+    private DtoCache dtoCache;
+    @MockBean
+    private ImageStore imageStore;
+    @MockBean
+    private ImageBlobService imageBlobService;
+    @MockBean
+    private ImageVariantService imageVariantService;
+    @MockBean
+    private ImageCache imageCache;
+    @MockBean
+    private ImageUploadValidator imageUploadValidator;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private EventDao eventDao;
+    @Autowired
+    private NewDao newDao;
+    @Autowired
+    private EventServiceImpl eventService;
+    @Autowired
+    private NewServiceImpl newService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < ITEMS; i++) {
+            User author = user("author" + i);
+            User commenter = user("commenter" + i);
+
+            Event event = new Event();
+            event.setName("Event " + i);
+            event.setEventDate(date.plusDays(i));
+            event.setDescription("Event description " + i);
+            event.setSportType(SportType.values()[0]);
+            event.setCreatedBy(author);
+            entityManager.persist(event);
+            entityManager.persist(ImageData.builder().name("event" + i + ".png").type("image/png").event(event).build());
+            for (int c = 0; c < 2; c++) {
+                EventComment comment = new EventComment();
+                comment.setCreatedDate(date);
+                comment.setText("Comment " + c);
+                comment.setCreatedBy(commenter);
+                comment.setEvent(event);
+                entityManager.persist(comment);
+            }
+
+            New news = new New();
+            news.setName("News " + i);
+            news.setPublishDate(date.plusDays(i));
+            news.setDescription("News description " + i);
+            news.setCreatedBy(author);
+            entityManager.persist(news);
+            entityManager.persist(ImageData.builder().name("news" + i + ".png").type("image/png").aNew(news).build());
+            for (int c = 0; c < 2; c++) {
+                NewsComment comment = new NewsComment();
+                comment.setCreatedDate(date);
+                comment.setText("Comment " + c);
+                comment.setCreatedBy(commenter);
+                comment.setNews(news);
+                entityManager.persist(comment);
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void eventPageTakesConstantStatements() {
+        long small = statements(() -> eventService.listToDto(eventDao.getAllEvents(PageRequest.of(0, 1))));
+        long full = statements(() -> eventService.listToDto(eventDao.getAllEvents(PageRequest.of(0, ITEMS))));
+        assertEquals(small, full);
+    }
+
+    @Test
+    void newsPageTakesConstantStatements() {
+        long small = statements(() -> newService.listToDto(newDao.getAllNews(PageRequest.of(0, 1))));
+        long full = statements(() -> newService.listToDto(newDao.getAllNews(PageRequest.of(0, ITEMS))));
+        assertEquals(small, full);
+    }
+
+    private long statements(Runnable page) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        page.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setFirstName(name);
+        user.setLastName(name);
+        user.setPassword("password");
+        user.setEmail(name + "@sport-maps.test");
+        user.setCreated(Instant.now());
+        user.setEnabled(true);
+        user.setRole(Role.values()[0]);
+        return entityManager.persist(user);
+    }
+}
@@ -0,0 +1,61 @@
+package spring.app.modules.smap.index;
+
+import org.junit.jupiter.api.Test;
+import spring.app.modules.smap.utils.GeoDistance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Nearest-neighbour search must return what a brute-force sort by distance returns.
+ */
+class QuadTreeTests {
+
+    private static final int TREES = 50;
+    private static final int QUERIES = 100;
+    private static final int LIMIT = 10;
+
+    @Test
+    void nearestMatchesBruteForce() {
+        Random random = new Random(42);
+        // Sparse trees keep nodes large, so a loose node distance reorders the search
+        for (int t = 0; t < TREES; t++) {
+            check(random, 20 + random.nextInt(200));
+        }
+    }
+
+    private static void check(Random random, int size) {
+        QuadTree<Integer> tree = new QuadTree<>(BoundingBox.WORLD);
+        List<double[]> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Half at high latitudes, where edge meridians converge and a loose node bound shows most
+            double lat = i % 2 == 0 ? 50 + random.nextDouble() * 35 : -90 + random.nextDouble() * 180;
+            double lng = -180 + random.nextDouble() * 360;
+            points.add(new double[]{lat, lng});
+            tree.insert(lat, lng, i);
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            double lat = q % 2 == 0 ? 50 + random.nextDouble() * 35 : -90 + random.nextDouble() * 180;
+            double lng = -180 + random.nextDouble() * 360;
+            List<Double> expected = points.stream()
+                    .map(p -> GeoDistance.haversine(lat, lng, p[0], p[1]))
+                    .sorted()
+                    .toList();
+
+            List<Double> nearest = distances(tree.nearest(lat, lng, LIMIT, Double.POSITIVE_INFINITY));
+            assertEquals(expected.subList(0, LIMIT), nearest, "nearest to " + lat + ", " + lng);
+
+            double radius = expected.get(LIMIT / 2);
+            List<Double> withinRadius = distances(tree.nearest(lat, lng, size, radius));
+            assertEquals(expected.stream().filter(d -> d <= radius).toList(), withinRadius,
+                    "within " + radius + " m of " + lat + ", " + lng);
+        }
+    }
+
+    private static List<Double> distances(List<QuadTree.Neighbour<Integer>> neighbours) {
+        return neighbours.stream().map(QuadTree.Neighbour::distance).toList();
+    }
+}